@@ -0,0 +1,126 @@
+package com.politicabr.blog.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Caches dos @Cacheable em memória com Caffeine (admissão W-TinyLFU, tamanho limitado).
+ *
+ * Cada cache de caching.cache-names recebe sua própria especificação Caffeine em
+ * caching.specs.&lt;nome&gt; (maximumSize, expireAfterWrite, refreshAfterWrite...); nomes
+ * não listados usam caching.default-spec. Com refreshAfterWrite a entrada é recalculada em
+ * segundo plano pelo carregador registrado em {@link CacheReloaders}, e os leitores continuam
+ * recebendo o valor anterior até lá.
+ *
+ * Todo cache é um {@link SingleFlightCache}: nos @Cacheable(sync = true) só uma requisição
+ * por chave executa o método. Além das métricas do actuator (cache.gets, cache.puts,
+ * cache.evictions, cache.load.duration), são publicadas cache.coalesced.waits e
+ * cache.refreshes (recargas em segundo plano, por resultado).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private CacheReloaders cacheReloaders;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${caching.cache-names:category,categories,categoriesWithCount,tag,tags,popularTags}")
+    private List<String> cacheNames;
+
+    @Value("${caching.default-spec:maximumSize=1000,expireAfterWrite=10m}")
+    private String defaultSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Counter coalescedWaits = Counter.builder("cache.coalesced.waits")
+                        .description("Requisições que aguardaram o carregamento já em andamento da mesma chave")
+                        .tag("cache", name)
+                        .register(meterRegistry);
+                return new SingleFlightCache(name, cache, isAllowNullValues(), coalescedWaits);
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.from(defaultSpec).recordStats());
+
+        for (String name : cacheNames) {
+            String spec = environment.getProperty("caching.specs." + name, defaultSpec);
+            Caffeine<Object, Object> builder = Caffeine.from(spec).recordStats();
+            if (spec.contains("refreshAfterWrite")) {
+                cacheManager.registerCustomCache(name, builder.build(new RefreshingLoader(name)));
+            } else {
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+            logger.debug("Cache {} configured with {}", name, spec);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Carregador dos caches com refreshAfterWrite. O Caffeine chama reload quando uma entrada
+     * acessada passa do tempo de refresh: entradas quentes são renovadas antes de expirar,
+     * as frias simplesmente expiram. Se a recarga falhar, o valor anterior é mantido.
+     */
+    private class RefreshingLoader implements CacheLoader<Object, Object> {
+
+        private final String cacheName;
+        private final Counter refreshed;
+        private final Counter failed;
+
+        RefreshingLoader(String cacheName) {
+            this.cacheName = cacheName;
+            this.refreshed = refreshCounter(cacheName, "success");
+            this.failed = refreshCounter(cacheName, "failure");
+        }
+
+        @Override
+        public Object load(Object key) {
+            return cacheReloaders.load(cacheName, key);
+        }
+
+        @Override
+        public Object reload(Object key, Object oldValue) {
+            try {
+                Object value = load(key);
+                refreshed.increment();
+                return value;
+            } catch (RuntimeException ex) {
+                failed.increment();
+                logger.warn("Could not refresh cache {} entry {}: {}", cacheName, key, ex.getMessage());
+                throw ex;
+            }
+        }
+
+        private Counter refreshCounter(String cacheName, String result) {
+            return Counter.builder("cache.refreshes")
+                    .description("Recargas em segundo plano (refreshAfterWrite)")
+                    .tag("cache", cacheName)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
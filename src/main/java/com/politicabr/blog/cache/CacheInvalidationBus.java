@@ -0,0 +1,256 @@
+package com.politicabr.blog.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidação de caches locais entre instâncias, pelo NOTIFY do PostgreSQL.
+ *
+ * As invalidações (cache + chave, "*" para o cache inteiro) publicadas durante uma transação
+ * são acumuladas sem repetição e enviadas num único NOTIFY antes do commit, na mesma conexão:
+ * o PostgreSQL só as entrega se a transação for confirmada. Cada instância recebe as mensagens
+ * das demais pelo {@link CacheInvalidationListener} e as aplica aqui; as próprias são ignoradas,
+ * pois os caches locais já reagem ao EntityChangedEvent.
+ *
+ * Formato da mensagem: id da instância na primeira linha e uma linha "cache\tchave" por invalidação.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    public static final String ALL_KEYS = "*";
+
+    // Alvo comum dos caches por instância derivados de posts (metadados, busca, sugestões,
+    // trending, relacionados); a chave é o id do post
+    public static final String POSTS = "posts";
+
+    // O payload do NOTIFY é limitado a 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${caching.invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${caching.invalidation.channel:cache_invalidation}")
+    private String channel;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<LocalCache>> localCaches = new ConcurrentHashMap<>();
+
+    private Counter notificationsSent;
+    private Counter invalidationsApplied;
+    private Counter fullFlushes;
+
+    @PostConstruct
+    void init() {
+        this.notificationsSent = Counter.builder("cache.invalidation.notifications")
+                .description("NOTIFY enviados com invalidações desta instância")
+                .register(meterRegistry);
+        this.invalidationsApplied = Counter.builder("cache.invalidation.applied")
+                .description("Invalidações recebidas de outras instâncias e aplicadas")
+                .register(meterRegistry);
+        this.fullFlushes = Counter.builder("cache.invalidation.full.flushes")
+                .description("Esvaziamentos completos após reconexão do LISTEN")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Caches fora do CacheManager (mapas próprios dos serviços) recebem as invalidações por aqui.
+     * Vários consumidores podem ouvir o mesmo nome e rodam na ordem de registro. Para um cache
+     * do CacheManager, os consumidores rodam antes da remoção feita pelo próprio barramento.
+     */
+    public void register(String cacheName, Consumer<String> invalidate, Runnable invalidateAll) {
+        localCaches.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>())
+                .add(new LocalCache(invalidate, invalidateAll));
+    }
+
+    public void publish(String cacheName, Object key) {
+        if (!enabled) {
+            return;
+        }
+        Invalidation invalidation = new Invalidation(cacheName, String.valueOf(key));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(invalidation));
+            return;
+        }
+
+        PendingInvalidations pending = (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInvalidations();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        if (pending.sent) {
+            // Alteração descoberta já durante o commit: ainda dentro da transação
+            send(List.of(invalidation));
+        } else {
+            pending.invalidations.add(invalidation);
+        }
+    }
+
+    String getChannel() {
+        return channel;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    private void send(Collection<Invalidation> invalidations) {
+        for (String payload : encode(invalidations)) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+            notificationsSent.increment();
+        }
+    }
+
+    private List<String> encode(Collection<Invalidation> invalidations) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        for (Invalidation invalidation : invalidations) {
+            String line = "\n" + invalidation.cacheName() + "\t" + invalidation.key();
+            if (utf8Length(payload) + utf8Length(line) > MAX_PAYLOAD_BYTES && payload.length() > nodeId.length()) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(nodeId);
+            }
+            payload.append(line);
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    /**
+     * Lê uma mensagem recebida; mensagens desta própria instância não produzem invalidações.
+     */
+    void decode(String payload, Set<Invalidation> target) {
+        String[] lines = payload.split("\n");
+        if (lines[0].equals(nodeId)) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            int separator = lines[i].indexOf('\t');
+            if (separator > 0) {
+                target.add(new Invalidation(lines[i].substring(0, separator), lines[i].substring(separator + 1)));
+            }
+        }
+    }
+
+    void apply(Collection<Invalidation> invalidations) {
+        for (Invalidation invalidation : invalidations) {
+            boolean all = ALL_KEYS.equals(invalidation.key());
+            // Consumidores registrados rodam antes do CacheManager: podem ler a entrada antes da remoção
+            for (LocalCache localCache : localCaches.getOrDefault(invalidation.cacheName(), List.of())) {
+                try {
+                    if (all) {
+                        localCache.invalidateAll().run();
+                    } else {
+                        localCache.invalidate().accept(invalidation.key());
+                    }
+                } catch (RuntimeException ex) {
+                    // Um consumidor com falha não impede os demais
+                    logger.warn("Could not apply invalidation {} to a local cache: {}", invalidation, ex.getMessage());
+                }
+            }
+            if (cacheManager.getCacheNames().contains(invalidation.cacheName())) {
+                Cache cache = cacheManager.getCache(invalidation.cacheName());
+                if (!all) {
+                    cache.evict(invalidation.key());
+                } else if (cache instanceof CaffeineCache caffeineCache
+                        && caffeineCache.getNativeCache() instanceof LoadingCache<Object, Object> loadingCache) {
+                    // Recalcula em segundo plano; enquanto isso os leitores recebem o valor anterior
+                    loadingCache.refreshAll(List.copyOf(loadingCache.asMap().keySet()));
+                } else {
+                    cache.clear();
+                }
+            }
+            invalidationsApplied.increment();
+        }
+        logger.debug("Applied {} remote cache invalidations", invalidations.size());
+    }
+
+    /**
+     * Esvazia todos os caches locais: usado quando o LISTEN caiu e mensagens podem ter se perdido.
+     */
+    void flushAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            cacheManager.getCache(name).clear();
+        }
+        localCaches.values().forEach(consumers -> consumers.forEach(localCache -> localCache.invalidateAll().run()));
+        fullFlushes.increment();
+    }
+
+    private static int utf8Length(CharSequence text) {
+        return text.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    record Invalidation(String cacheName, String key) {
+    }
+
+    private record LocalCache(Consumer<String> invalidate, Runnable invalidateAll) {
+    }
+
+    /**
+     * Invalidações da transação corrente, enviadas uma única vez antes do commit.
+     */
+    private class PendingInvalidations implements TransactionSynchronization {
+
+        private final Set<Invalidation> invalidations = new LinkedHashSet<>();
+        private boolean sent;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // O flush do commit dispara os callbacks JPA ainda pendentes; antecipá-lo aqui
+            // garante que as invalidações que eles publicam entrem neste mesmo NOTIFY
+            if (!readOnly && entityManager.isJoinedToTransaction()) {
+                entityManager.flush();
+            }
+            sent = true;
+            if (!invalidations.isEmpty()) {
+                send(invalidations);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.politicabr.blog.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Conexão dedicada ao LISTEN do canal de invalidação, fora do pool do Hikari.
+ *
+ * Uma thread própria aguarda as notificações; ao receber a primeira, continua lendo durante
+ * caching.invalidation.batch-window e aplica o lote de uma vez, sem repetições. Se a conexão
+ * cair, mensagens podem ter sido perdidas: ao reconectar, todos os caches locais são esvaziados.
+ *
+ * Uma conexão TCP meio aberta (timeout de NAT, failover do banco) não gera erro: a espera por
+ * notificações apenas volta vazia para sempre. Por isso a conexão usa keepalive e timeout de
+ * socket, e um SELECT 1 periódico confirma que ela está viva; uma falha conta como desconexão.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
+    @Value("${caching.invalidation.batch-window:100ms}")
+    private Duration batchWindow;
+
+    @Value("${caching.invalidation.reconnect-delay:5s}")
+    private Duration reconnectDelay;
+
+    @Value("${caching.invalidation.probe-interval:30s}")
+    private Duration probeInterval;
+
+    @Value("${caching.invalidation.socket-timeout:60s}")
+    private Duration socketTimeout;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!cacheInvalidationBus.isEnabled()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(POLL_TIMEOUT_MILLIS * 2L);
+        }
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void run() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(), connectionProperties())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + cacheInvalidationBus.getChannel());
+                }
+                if (connectedBefore) {
+                    cacheInvalidationBus.flushAll();
+                    logger.warn("Cache invalidation listener reconnected; local caches flushed");
+                }
+                connectedBefore = true;
+                listening = true;
+                listen(connection, connection.unwrap(PGConnection.class));
+            } catch (SQLException ex) {
+                listening = false;
+                if (running) {
+                    logger.warn("Cache invalidation listener disconnected: {}", ex.getMessage());
+                    pause();
+                }
+            }
+        }
+        listening = false;
+    }
+
+    private Properties connectionProperties() {
+        Properties properties = new Properties();
+        if (connectionDetails.getUsername() != null) {
+            properties.setProperty("user", connectionDetails.getUsername());
+        }
+        if (connectionDetails.getPassword() != null) {
+            properties.setProperty("password", connectionDetails.getPassword());
+        }
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("socketTimeout", String.valueOf(socketTimeout.toSeconds()));
+        properties.setProperty("ApplicationName", "cache-invalidation-listener");
+        return properties;
+    }
+
+    private void listen(Connection jdbcConnection, PGConnection connection) throws SQLException {
+        long nextProbe = System.nanoTime() + probeInterval.toNanos();
+        while (running) {
+            if (System.nanoTime() - nextProbe >= 0) {
+                // Falha ou timeout aqui derruba a conexão e leva à reconexão com esvaziamento
+                try (Statement statement = jdbcConnection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                nextProbe = System.nanoTime() + probeInterval.toNanos();
+            }
+
+            PGNotification[] notifications = connection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications == null || notifications.length == 0) {
+                continue;
+            }
+
+            Set<CacheInvalidationBus.Invalidation> batch = new LinkedHashSet<>();
+            collect(notifications, batch);
+            long deadline = System.nanoTime() + batchWindow.toNanos();
+            long remaining;
+            while ((remaining = (deadline - System.nanoTime()) / 1_000_000) > 0) {
+                collect(connection.getNotifications((int) remaining), batch);
+            }
+
+            if (!batch.isEmpty()) {
+                try {
+                    cacheInvalidationBus.apply(batch);
+                } catch (RuntimeException ex) {
+                    logger.error("Could not apply cache invalidations", ex);
+                }
+            }
+        }
+    }
+
+    private void collect(PGNotification[] notifications, Set<CacheInvalidationBus.Invalidation> batch) {
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            cacheInvalidationBus.decode(notification.getParameter(), batch);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
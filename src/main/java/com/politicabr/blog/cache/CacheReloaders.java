@@ -0,0 +1,29 @@
+package com.politicabr.blog.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Carregadores registrados pelos serviços para os caches configurados com refreshAfterWrite.
+ *
+ * O @Cacheable não sabe recalcular uma entrada sozinho: quem é dono do cache registra aqui
+ * como carregar um valor a partir da chave (a mesma do SimpleKeyGenerator). Caches sem
+ * carregador registrado apenas expiram.
+ */
+@Component
+public class CacheReloaders {
+
+    private final Map<String, Function<Object, Object>> loaders = new ConcurrentHashMap<>();
+
+    public void register(String cacheName, Function<Object, Object> loader) {
+        loaders.put(cacheName, loader);
+    }
+
+    Object load(String cacheName, Object key) {
+        Function<Object, Object> loader = loaders.get(cacheName);
+        return loader == null ? null : loader.apply(key);
+    }
+}
@@ -0,0 +1,59 @@
+package com.politicabr.blog.cache;
+
+import com.politicabr.blog.entity.Category;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.entity.Tag;
+import com.politicabr.blog.entity.User;
+import com.politicabr.blog.event.EntityChangedEvent;
+import com.politicabr.blog.security.UserStatusCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Traduz alterações de entidades nas invalidações que as outras instâncias devem aplicar.
+ *
+ * Ouve o evento de forma síncrona, ainda dentro da transação que gravou a alteração, para que a
+ * mensagem siga no NOTIFY dessa transação. Listas derivadas são marcadas por inteiro ("*"): a
+ * outra instância não tem a entidade para corrigi-las no lugar e as recalcula em segundo plano.
+ * Alterações de posts seguem uma única vez para {@link CacheInvalidationBus#POSTS}, ouvido por
+ * todos os caches e índices de posts da instância.
+ */
+@Component
+public class EntityInvalidationPublisher {
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntityId() == null) {
+            return;
+        }
+        if (event.isAbout(Tag.class)) {
+            Tag tag = (Tag) event.getEntity();
+            cacheInvalidationBus.publish(TaxonomyCacheUpdater.TAG, TaxonomyCacheUpdater.idKey(tag.getId()));
+            publishSlugs(TaxonomyCacheUpdater.TAG, tag.getSlug(), tag.getLoadedSlug());
+            cacheInvalidationBus.publish(TaxonomyCacheUpdater.TAGS, CacheInvalidationBus.ALL_KEYS);
+            cacheInvalidationBus.publish(TaxonomyCacheUpdater.POPULAR_TAGS, CacheInvalidationBus.ALL_KEYS);
+        } else if (event.isAbout(Category.class)) {
+            Category category = (Category) event.getEntity();
+            cacheInvalidationBus.publish(TaxonomyCacheUpdater.CATEGORY, TaxonomyCacheUpdater.idKey(category.getId()));
+            publishSlugs(TaxonomyCacheUpdater.CATEGORY, category.getSlug(), category.getLoadedSlug());
+            cacheInvalidationBus.publish(TaxonomyCacheUpdater.CATEGORIES, CacheInvalidationBus.ALL_KEYS);
+            cacheInvalidationBus.publish(TaxonomyCacheUpdater.CATEGORIES_WITH_COUNT, CacheInvalidationBus.ALL_KEYS);
+        } else if (event.isAbout(Post.class)) {
+            cacheInvalidationBus.publish(CacheInvalidationBus.POSTS, event.getEntityId());
+        } else if (event.isAbout(User.class)) {
+            cacheInvalidationBus.publish(UserStatusCache.CACHE_NAME, event.getEntityId());
+        }
+    }
+
+    // Slug novo e, numa renomeação, o anterior: as outras instâncias podem ter qualquer um dos dois
+    private void publishSlugs(String cacheName, String slug, String loadedSlug) {
+        cacheInvalidationBus.publish(cacheName, TaxonomyCacheUpdater.slugKey(slug));
+        if (loadedSlug != null && !loadedSlug.equals(slug)) {
+            cacheInvalidationBus.publish(cacheName, TaxonomyCacheUpdater.slugKey(loadedSlug));
+        }
+    }
+}
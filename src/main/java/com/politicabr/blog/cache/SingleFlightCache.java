@@ -0,0 +1,54 @@
+package com.politicabr.blog.cache;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * CaffeineCache que mede o carregamento único por chave (single-flight) nos @Cacheable(sync = true).
+ *
+ * O get(key, valueLoader) do CaffeineCache já passa pelo cálculo por chave do Caffeine: quando a
+ * entrada falta, só a primeira requisição executa o método e as que chegam durante o carregamento
+ * aguardam o mesmo resultado. Se o carregamento falha, a entrada continua ausente e quem aguardava
+ * tenta de novo. Aqui apenas se conta em cache.coalesced.waits cada chamada que encontrou a entrada
+ * ausente mas não executou o próprio carregador.
+ *
+ * A leitura simples não dispara o carregador de um LoadingCache: carregar é papel do
+ * get(key, valueLoader) e do refreshAfterWrite.
+ */
+class SingleFlightCache extends CaffeineCache {
+
+    private final Counter coalescedWaits;
+
+    SingleFlightCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                      boolean allowNullValues, Counter coalescedWaits) {
+        super(name, cache, allowNullValues);
+        this.coalescedWaits = coalescedWaits;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return getNativeCache().getIfPresent(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        // Só a thread que carrega executa o carregador; as demais receberam o valor de outra
+        boolean[] loaded = new boolean[1];
+        T value = super.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        if (!loaded[0]) {
+            coalescedWaits.increment();
+        }
+        return value;
+    }
+}
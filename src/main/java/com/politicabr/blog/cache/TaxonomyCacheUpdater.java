@@ -0,0 +1,228 @@
+package com.politicabr.blog.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.politicabr.blog.dto.CategoryDTO;
+import com.politicabr.blog.dto.TagDTO;
+import com.politicabr.blog.entity.Category;
+import com.politicabr.blog.entity.Tag;
+import com.politicabr.blog.event.EntityChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Atualiza os caches de tags e categorias a cada alteração, sem esvaziá-los.
+ *
+ * Após o commit, só as entradas da tag ou categoria alterada (por id e pelos slugs antigo e
+ * novo) são removidas. As listas em cache recebem uma cópia corrigida, trocada atomicamente:
+ * quem já leu a lista anterior continua com ela. A contagem de posts da lista é mantida,
+ * já que alterar uma tag ou categoria não muda seus posts. As tags populares dependem das
+ * contagens e são recalculadas em segundo plano; até lá os leitores recebem a versão anterior.
+ */
+@Component
+public class TaxonomyCacheUpdater {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaxonomyCacheUpdater.class);
+
+    public static final String TAG = "tag";
+    public static final String TAGS = "tags";
+    public static final String POPULAR_TAGS = "popularTags";
+    public static final String CATEGORY = "category";
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORIES_WITH_COUNT = "categoriesWithCount";
+
+    // Mesmas ordenações das consultas que preenchem as listas
+    private static final Comparator<TagDTO> TAG_ORDER = Comparator.comparing(TagDTO::getName);
+    private static final Comparator<CategoryDTO> CATEGORY_DISPLAY_ORDER = Comparator.comparing(
+            CategoryDTO::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder()));
+    private static final Comparator<CategoryDTO> CATEGORY_NAME_ORDER = Comparator.comparing(CategoryDTO::getName);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    // Invalidações por id vindas de outras instâncias também removem o slug que esta instância guardou
+    @PostConstruct
+    void registerInvalidation() {
+        cacheInvalidationBus.register(TAG, key -> evictRemote(TAG, key), () -> { });
+        cacheInvalidationBus.register(CATEGORY, key -> evictRemote(CATEGORY, key), () -> { });
+    }
+
+    public static String idKey(Long id) {
+        return "id:" + id;
+    }
+
+    public static String slugKey(String slug) {
+        return "slug:" + slug;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(Tag.class)) {
+            onTagChanged((Tag) event.getEntity(), event.getChangeType() == EntityChangedEvent.ChangeType.DELETED);
+        } else if (event.isAbout(Category.class)) {
+            onCategoryChanged((Category) event.getEntity(), event.getChangeType() == EntityChangedEvent.ChangeType.DELETED);
+        }
+    }
+
+    private void onTagChanged(Tag tag, boolean deleted) {
+        Set<String> slugs = new HashSet<>();
+        slugs.add(tag.getSlug());
+
+        patch(TAGS, SimpleKey.EMPTY, (List<TagDTO> tags) -> {
+            List<TagDTO> patched = new ArrayList<>(tags.size() + 1);
+            long postCount = 0L;
+            for (TagDTO cached : tags) {
+                if (cached.getId().equals(tag.getId())) {
+                    slugs.add(cached.getSlug());
+                    postCount = cached.getPostCount() == null ? 0L : cached.getPostCount();
+                } else {
+                    patched.add(cached);
+                }
+            }
+            if (!deleted) {
+                patched.add(copy(tag, postCount));
+                patched.sort(TAG_ORDER);
+            }
+            return patched;
+        });
+
+        // Renomeações e remoções já aparecem nas listas populares; a ordem é recalculada depois
+        for (Object key : keys(POPULAR_TAGS)) {
+            patch(POPULAR_TAGS, key, (List<TagDTO> tags) -> {
+                List<TagDTO> patched = new ArrayList<>(tags.size());
+                for (TagDTO cached : tags) {
+                    if (!cached.getId().equals(tag.getId())) {
+                        patched.add(cached);
+                    } else if (!deleted) {
+                        patched.add(copy(tag, cached.getPostCount()));
+                    }
+                }
+                return patched;
+            });
+        }
+        refreshInBackground(POPULAR_TAGS);
+
+        evictEntries(TAG, tag.getId(), slugs);
+        logger.debug("Patched tag caches for tag {}", tag.getId());
+    }
+
+    private void onCategoryChanged(Category category, boolean deleted) {
+        Set<String> slugs = new HashSet<>();
+        slugs.add(category.getSlug());
+        boolean listed = !deleted && Boolean.TRUE.equals(category.getActive());
+
+        patch(CATEGORIES, SimpleKey.EMPTY, (List<CategoryDTO> categories) ->
+                patchCategories(categories, category, listed, slugs, CATEGORY_DISPLAY_ORDER));
+        patch(CATEGORIES_WITH_COUNT, SimpleKey.EMPTY, (List<CategoryDTO> categories) ->
+                patchCategories(categories, category, listed, slugs, CATEGORY_NAME_ORDER));
+
+        evictEntries(CATEGORY, category.getId(), slugs);
+        logger.debug("Patched category caches for category {}", category.getId());
+    }
+
+    private List<CategoryDTO> patchCategories(List<CategoryDTO> categories, Category category, boolean listed,
+                                              Set<String> slugs, Comparator<CategoryDTO> order) {
+        List<CategoryDTO> patched = new ArrayList<>(categories.size() + 1);
+        long postCount = 0L;
+        for (CategoryDTO cached : categories) {
+            if (cached.getId().equals(category.getId())) {
+                slugs.add(cached.getSlug());
+                postCount = cached.getPostCount() == null ? 0L : cached.getPostCount();
+            } else {
+                patched.add(cached);
+            }
+        }
+        if (listed) {
+            patched.add(copy(category, postCount));
+            patched.sort(order);
+        }
+        return patched;
+    }
+
+    private void evictRemote(String cacheName, String key) {
+        if (key.startsWith("id:")) {
+            evictEntries(cacheName, Long.valueOf(key.substring(3)), new HashSet<>());
+        }
+    }
+
+    private void evictEntries(String cacheName, Long id, Set<String> slugs) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = nativeCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        Object cached = cache.getIfPresent(idKey(id));
+        if (cached instanceof TagDTO tag) {
+            slugs.add(tag.getSlug());
+        } else if (cached instanceof CategoryDTO category) {
+            slugs.add(category.getSlug());
+        }
+        cache.invalidate(idKey(id));
+        for (String slug : slugs) {
+            cache.invalidate(slugKey(slug));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void patch(String cacheName, Object key, UnaryOperator<List<T>> patcher) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = nativeCache(cacheName);
+        if (cache != null) {
+            // computeIfPresent é atômico por chave: dois patches simultâneos não se perdem
+            cache.asMap().computeIfPresent(key, (k, value) -> patcher.apply((List<T>) value));
+        }
+    }
+
+    private void refreshInBackground(String cacheName) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = nativeCache(cacheName);
+        if (cache instanceof LoadingCache<Object, Object> loadingCache) {
+            loadingCache.refreshAll(keys(cacheName));
+        } else if (cache != null) {
+            // Sem carregador não há como recalcular em segundo plano
+            cache.invalidateAll();
+        }
+    }
+
+    private List<Object> keys(String cacheName) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = nativeCache(cacheName);
+        return cache == null ? List.of() : List.copyOf(cache.asMap().keySet());
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String cacheName) {
+        return cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache
+                ? caffeineCache.getNativeCache()
+                : null;
+    }
+
+    // Cópias a partir dos campos simples: a coleção de posts é lazy e a sessão já foi fechada
+    private static TagDTO copy(Tag tag, Long postCount) {
+        TagDTO dto = new TagDTO(tag.getId(), tag.getName(), tag.getSlug(), postCount);
+        dto.setCreatedAt(tag.getCreatedAt());
+        return dto;
+    }
+
+    private static CategoryDTO copy(Category category, Long postCount) {
+        CategoryDTO dto = new CategoryDTO(category.getId(), category.getName(), category.getSlug(),
+                category.getDescription(), category.getColor(), category.getIcon(), postCount);
+        dto.setActive(category.getActive());
+        dto.setDisplayOrder(category.getDisplayOrder());
+        dto.setCreatedAt(category.getCreatedAt());
+        dto.setUpdatedAt(category.getUpdatedAt());
+        return dto;
+    }
+}
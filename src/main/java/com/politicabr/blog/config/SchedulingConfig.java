@@ -0,0 +1,12 @@
+package com.politicabr.blog.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas periódicas (limpeza e sincronização de estruturas em memória)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
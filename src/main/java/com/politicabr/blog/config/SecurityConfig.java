@@ -2,11 +2,16 @@ package com.politicabr.blog.config;
 
 import com.politicabr.blog.security.JwtAutenticationEntryPoint;
 import com.politicabr.blog.security.JwtAuthenticationFilter;
+import com.politicabr.blog.security.LoginThrottleFilter;
+import com.politicabr.blog.security.PasswordEncoderCalibrator;
 import com.politicabr.blog.service.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -18,15 +23,23 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -42,15 +55,45 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private LoginThrottleFilter loginThrottleFilter;
+
     @Value("${cors.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${security.password.encoder:bcrypt}")
+    private String passwordEncoderId;
+
+    @Value("${security.password.bcrypt.cost:0}")
+    private int bcryptCost;
+
+    @Value("${security.password.bcrypt.min-cost:10}")
+    private int bcryptMinCost;
+
+    @Value("${security.password.bcrypt.max-cost:14}")
+    private int bcryptMaxCost;
+
+    @Value("${security.password.hash-budget:250ms}")
+    private Duration hashBudget;
+
     /**
-     * Bean para PasswordEncoder usando BCrypt com força 12
+     * Bean para PasswordEncoder delegante: hashes novos levam o prefixo {id} do algoritmo alvo
+     * e hashes antigos sem prefixo (BCrypt) continuam válidos até o re-hash no login.
+     * Com custo 0 o BCrypt é calibrado contra o orçamento de tempo configurado.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        int cost = bcryptCost > 0
+                ? bcryptCost
+                : PasswordEncoderCalibrator.calibrateBcryptCost(hashBudget, bcryptMinCost, bcryptMaxCost);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(cost));
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(passwordEncoderId, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
     }
 
     /**
@@ -66,17 +109,61 @@ public class SecurityConfig {
 
     /**
      * Bean para AuthenticationManager
-     * IMPORTANT: Este bean é necessário para o AuthService
      */
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Via rápida para leituras públicas anônimas (GET sem header Authorization).
+     * Não há token para validar nem autorização a decidir: a cadeia mantém apenas CORS e
+     * headers de segurança, sem filtro JWT, sem contexto de segurança e sem usuário anônimo.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain anonymousReadFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(anonymousPublicRead())
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .csrf(AbstractHttpConfigurer::disable)
+                .securityContext(AbstractHttpConfigurer::disable)
+                .sessionManagement(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .anonymous(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
+    private RequestMatcher anonymousPublicRead() {
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        RequestMatcher publicReads = new OrRequestMatcher(
+                paths.matcher(HttpMethod.GET, "/api/v1/posts/**"),
+                paths.matcher(HttpMethod.GET, "/api/v1/categories/**"),
+                paths.matcher(HttpMethod.GET, "/api/v1/tags/**"),
+                paths.matcher(HttpMethod.GET, "/api/v1/comments/**"),
+                paths.matcher(HttpMethod.GET, "/api/v1/suggest/**")
+        );
+        RequestMatcher staffReads = readerStats();
+        return request -> request.getHeader(HttpHeaders.AUTHORIZATION) == null
+                && publicReads.matches(request) && !staffReads.matches(request);
+    }
+
+    // Estatísticas de leitores únicos: dados editoriais, fora das leituras públicas
+    private RequestMatcher readerStats() {
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        return new OrRequestMatcher(
+                paths.matcher(HttpMethod.GET, "/api/v1/posts/*/readers"),
+                paths.matcher(HttpMethod.GET, "/api/v1/categories/*/readers")
+        );
+    }
+
     /**
      * Configuração de cadeia de filtros de segurança
      */
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 // Desabilitar CSRF (não necessário para APIs REST stateless)
@@ -101,11 +188,15 @@ public class SecurityConfig {
                         // Endpoints públicos de autenticação
                         .requestMatchers("/api/v1/auth/**").permitAll()
 
+                        // Leitores únicos - apenas equipe editorial
+                        .requestMatchers(readerStats()).hasAnyRole("ADMIN", "AUTHOR", "EDITOR")
+
                         // Endpoints públicos de leitura
                         .requestMatchers(HttpMethod.GET, "/api/v1/posts/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/categories/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/tags/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/comments/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/suggest/**").permitAll()
 
                         // Documentação da API
                         .requestMatchers(
@@ -128,6 +219,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/comments/**").authenticated()
 
                         // Posts - CUD requerem permissões especiais
+                        .requestMatchers(HttpMethod.POST, "/api/v1/posts/*/views").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/posts/**").hasAnyRole("ADMIN", "AUTHOR", "EDITOR")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/posts/**").hasAnyRole("ADMIN", "AUTHOR", "EDITOR")
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/posts/**").hasRole("ADMIN")
@@ -145,9 +237,32 @@ public class SecurityConfig {
         // Adicionar filtro JWT antes do filtro de autenticação padrão
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // Limite de tentativas de login antes de qualquer outro processamento (após o CORS)
+        http.addFilterBefore(loginThrottleFilter, JwtAuthenticationFilter.class);
+
         return http.build();
     }
 
+    /**
+     * O filtro JWT roda apenas dentro da cadeia de segurança (não na via rápida)
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * O filtro de limite de login roda apenas dentro da cadeia de segurança
+     */
+    @Bean
+    public FilterRegistrationBean<LoginThrottleFilter> loginThrottleFilterRegistration() {
+        FilterRegistrationBean<LoginThrottleFilter> registration = new FilterRegistrationBean<>(loginThrottleFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * Configuração de CORS
      */
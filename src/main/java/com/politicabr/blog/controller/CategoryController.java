@@ -1,7 +1,9 @@
 package com.politicabr.blog.controller;
 
 import com.politicabr.blog.dto.CategoryDTO;
+import com.politicabr.blog.dto.UniqueReadersDTO;
 import com.politicabr.blog.service.CategoryService;
+import com.politicabr.blog.service.ReaderStatsService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -18,6 +20,9 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private ReaderStatsService readerStatsService;
+
     @GetMapping
     public ResponseEntity<List<CategoryDTO>> getAllCategories() {
         List<CategoryDTO> categories = categoryService.getCategoriesWithPostCount();
@@ -30,6 +35,12 @@ public class CategoryController {
         return ResponseEntity.ok(category);
     }
 
+    @GetMapping("/{id}/readers")
+    public ResponseEntity<UniqueReadersDTO> getUniqueReaders(@PathVariable Long id) {
+        UniqueReadersDTO readers = readerStatsService.getCategoryReaders(id);
+        return ResponseEntity.ok(readers);
+    }
+
     @GetMapping("/slug/{slug}")
     public ResponseEntity<CategoryDTO> getCategoryBySlug(@PathVariable String slug) {
         CategoryDTO category = categoryService.getCategoryBySlug(slug);
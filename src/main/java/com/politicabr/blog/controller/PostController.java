@@ -0,0 +1,163 @@
+package com.politicabr.blog.controller;
+
+import com.politicabr.blog.dto.CursorPageDTO;
+import com.politicabr.blog.dto.PostSummaryDTO;
+import com.politicabr.blog.dto.RelatedPostDTO;
+import com.politicabr.blog.dto.TrendingPostDTO;
+import com.politicabr.blog.dto.UniqueReadersDTO;
+import com.politicabr.blog.exception.ResourceNotFoundException;
+import com.politicabr.blog.related.RelatedPostsIndex;
+import com.politicabr.blog.service.PostFeedService;
+import com.politicabr.blog.service.PostMetadataCache;
+import com.politicabr.blog.service.PostSearchService;
+import com.politicabr.blog.service.ReaderStatsService;
+import com.politicabr.blog.service.ViewCounter;
+import com.politicabr.blog.trending.TrendingService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/posts")
+public class PostController {
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+
+    @Autowired
+    private ViewCounter viewCounter;
+
+    @Autowired
+    private PostMetadataCache postMetadataCache;
+
+    @Autowired
+    private PostFeedService postFeedService;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private ReaderStatsService readerStatsService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private RelatedPostsIndex relatedPostsIndex;
+
+    // Listagens públicas paginadas por cursor: sem cursor, primeira página; a próxima usa o nextCursor
+
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> getPublishedPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(postFeedService.getPublishedPosts(cursor, size));
+    }
+
+    @GetMapping("/featured")
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> getFeaturedPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(postFeedService.getFeaturedPosts(cursor, size));
+    }
+
+    @GetMapping("/category/{slug}")
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> getPostsByCategory(
+            @PathVariable String slug,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(postFeedService.getPostsByCategory(slug, cursor, size));
+    }
+
+    @GetMapping("/author/{authorId}")
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> getPostsByAuthor(
+            @PathVariable Long authorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(postFeedService.getPostsByAuthor(authorId, cursor, size));
+    }
+
+    @GetMapping("/tag/{slug}")
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> getPostsByTag(
+            @PathVariable String slug,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(postFeedService.getPostsByTag(slug, cursor, size));
+    }
+
+    // Posts com qualquer uma das tags (?slugs=a,b)
+    @GetMapping("/tags")
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> getPostsByTags(
+            @RequestParam List<String> slugs,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(postFeedService.getPostsByTags(slugs, cursor, size));
+    }
+
+    @GetMapping("/recent")
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> getRecentPosts(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        return ResponseEntity.ok(postFeedService.getRecentPosts(since, cursor, size));
+    }
+
+    // Busca full-text (motor escolhido por search.engine), paginada por offset e ordenada por relevância
+    @GetMapping("/search")
+    public ResponseEntity<Page<PostSummaryDTO>> searchPosts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE)));
+        return ResponseEntity.ok(postSearchService.search(q, pageable));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingPostDTO>> getTrending(
+            @RequestParam(required = false) String window,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TrendingPostDTO> posts = trendingService.getTrending(window, categoryId, limit);
+        return ResponseEntity.ok(posts);
+    }
+
+    // Registra a visualização em memória; a gravação no banco é feita em lote.
+    // Só posts publicados (cache de metadados): ids aleatórios não ocupam os contadores pendentes
+    @PostMapping("/{id}/views")
+    public ResponseEntity<Void> recordView(@PathVariable Long id, HttpServletRequest request, Principal principal) {
+        if (postMetadataCache.get(id).isEmpty()) {
+            throw new ResourceNotFoundException("Post", "id", id);
+        }
+        String fingerprint = ReaderStatsService.fingerprint(
+                principal == null ? null : principal.getName(),
+                request.getRemoteAddr(),
+                request.getHeader(HttpHeaders.USER_AGENT));
+        viewCounter.record(id);
+        trendingService.recordView(id, fingerprint);
+        readerStatsService.record(id, fingerprint);
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/{id}/readers")
+    public ResponseEntity<UniqueReadersDTO> getUniqueReaders(@PathVariable Long id) {
+        UniqueReadersDTO readers = readerStatsService.getPostReaders(id);
+        return ResponseEntity.ok(readers);
+    }
+
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<RelatedPostDTO>> getRelatedPosts(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int limit) {
+        List<RelatedPostDTO> posts = relatedPostsIndex.getRelated(id, limit);
+        return ResponseEntity.ok(posts);
+    }
+}
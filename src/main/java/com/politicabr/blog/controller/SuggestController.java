@@ -0,0 +1,25 @@
+package com.politicabr.blog.controller;
+
+import com.politicabr.blog.dto.SuggestionDTO;
+import com.politicabr.blog.search.SuggestIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/suggest")
+public class SuggestController {
+
+    @Autowired
+    private SuggestIndex suggestIndex;
+
+    @GetMapping
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        List<SuggestionDTO> suggestions = suggestIndex.suggest(q, Math.max(1, limit));
+        return ResponseEntity.ok(suggestions);
+    }
+}
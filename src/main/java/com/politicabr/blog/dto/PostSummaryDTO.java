@@ -0,0 +1,243 @@
+package com.politicabr.blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo de post para listagens: sem o conteúdo, com autor, categoria e tags reduzidos.
+ *
+ * Preenchido por projeção JPQL (construtor abaixo) numa única consulta com autor e
+ * categoria; as tags da página inteira chegam depois numa segunda consulta em lote.
+ */
+public class PostSummaryDTO {
+
+    private Long id;
+    private String title;
+    private String excerpt;
+    private String slug;
+    private String imageUrl;
+    private Long viewCount;
+
+    @JsonFormat(pattern = "dd/MM/yyyy'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "dd/MM/yyyy'T'HH:mm:ss")
+    private LocalDateTime publishedAt;
+
+    @JsonFormat(pattern = "dd/MM/yyyy'T'HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    private AuthorCard author;
+    private CategoryChip category;
+    private List<TagChip> tags = new ArrayList<>();
+
+    public PostSummaryDTO() {
+    }
+
+    // Usado pelas consultas "SELECT new" do PostRepository
+    public PostSummaryDTO(Long id, String title, String excerpt, String slug, String imageUrl, Long viewCount,
+                          LocalDateTime createdAt, LocalDateTime publishedAt, LocalDateTime updatedAt,
+                          Long authorId, String authorUsername, String authorFirstName, String authorLastName,
+                          String authorAvatarUrl, Long categoryId, String categoryName, String categorySlug) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.slug = slug;
+        this.imageUrl = imageUrl;
+        this.viewCount = viewCount;
+        this.createdAt = createdAt;
+        this.publishedAt = publishedAt;
+        this.updatedAt = updatedAt;
+        this.author = new AuthorCard(authorId, authorUsername, authorFirstName + " " + authorLastName, authorAvatarUrl);
+        this.category = categoryId == null ? null : new CategoryChip(categoryId, categoryName, categorySlug);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public Long getViewCount() {
+        return viewCount;
+    }
+
+    public void setViewCount(Long viewCount) {
+        this.viewCount = viewCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public AuthorCard getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(AuthorCard author) {
+        this.author = author;
+    }
+
+    public CategoryChip getCategory() {
+        return category;
+    }
+
+    public void setCategory(CategoryChip category) {
+        this.category = category;
+    }
+
+    public List<TagChip> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<TagChip> tags) {
+        this.tags = tags;
+    }
+
+    public static class AuthorCard {
+
+        private Long id;
+        private String username;
+        private String fullName;
+        private String avatarUrl;
+
+        public AuthorCard() {
+        }
+
+        public AuthorCard(Long id, String username, String fullName, String avatarUrl) {
+            this.id = id;
+            this.username = username;
+            this.fullName = fullName;
+            this.avatarUrl = avatarUrl;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getFullName() {
+            return fullName;
+        }
+
+        public String getAvatarUrl() {
+            return avatarUrl;
+        }
+    }
+
+    public static class CategoryChip {
+
+        private Long id;
+        private String name;
+        private String slug;
+
+        public CategoryChip() {
+        }
+
+        public CategoryChip(Long id, String name, String slug) {
+            this.id = id;
+            this.name = name;
+            this.slug = slug;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getSlug() {
+            return slug;
+        }
+    }
+
+    public static class TagChip {
+
+        private Long id;
+        private String name;
+        private String slug;
+
+        public TagChip() {
+        }
+
+        public TagChip(Long id, String name, String slug) {
+            this.id = id;
+            this.name = name;
+            this.slug = slug;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getSlug() {
+            return slug;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.politicabr.blog.dto;
+
+/**
+ * Post relacionado com a pontuação de similaridade (tags, categoria e recência).
+ */
+public class RelatedPostDTO {
+
+    private Long id;
+
+    private String title;
+
+    private String slug;
+
+    private double score;
+
+    public RelatedPostDTO() {
+    }
+
+    public RelatedPostDTO(Long id, String title, String slug, double score) {
+        this.id = id;
+        this.title = title;
+        this.slug = slug;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,58 @@
+package com.politicabr.blog.dto;
+
+/**
+ * Sugestão do autocompletar: {@code type} é TAG, CATEGORY, POST ou AUTHOR.
+ * Para autores, {@code slug} é o username.
+ */
+public class SuggestionDTO {
+
+    private String type;
+
+    private Long id;
+
+    private String label;
+
+    private String slug;
+
+    public SuggestionDTO() {
+    }
+
+    public SuggestionDTO(String type, Long id, String label, String slug) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.slug = slug;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+}
@@ -0,0 +1,68 @@
+package com.politicabr.blog.dto;
+
+/**
+ * Post em alta com a pontuação decaída da janela consultada.
+ */
+public class TrendingPostDTO {
+
+    private Long id;
+
+    private String title;
+
+    private String slug;
+
+    private Long categoryId;
+
+    private double score;
+
+    public TrendingPostDTO() {
+    }
+
+    public TrendingPostDTO(Long id, String title, String slug, Long categoryId, double score) {
+        this.id = id;
+        this.title = title;
+        this.slug = slug;
+        this.categoryId = categoryId;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
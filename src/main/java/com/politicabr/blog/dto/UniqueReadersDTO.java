@@ -0,0 +1,47 @@
+package com.politicabr.blog.dto;
+
+/**
+ * Leitores únicos estimados (HyperLogLog, erro típico de ~1,6%) por dias UTC: o dia atual
+ * (desde 00:00 UTC, não as últimas 24 horas), os últimos 7 e os últimos 30 dias, incluindo o atual.
+ */
+public class UniqueReadersDTO {
+
+    private long today;
+
+    private long last7Days;
+
+    private long last30Days;
+
+    public UniqueReadersDTO() {
+    }
+
+    public UniqueReadersDTO(long today, long last7Days, long last30Days) {
+        this.today = today;
+        this.last7Days = last7Days;
+        this.last30Days = last30Days;
+    }
+
+    public long getToday() {
+        return today;
+    }
+
+    public void setToday(long today) {
+        this.today = today;
+    }
+
+    public long getLast7Days() {
+        return last7Days;
+    }
+
+    public void setLast7Days(long last7Days) {
+        this.last7Days = last7Days;
+    }
+
+    public long getLast30Days() {
+        return last30Days;
+    }
+
+    public void setLast30Days(long last30Days) {
+        this.last30Days = last30Days;
+    }
+}
@@ -1,5 +1,6 @@
 package com.politicabr.blog.entity;
 
+import com.politicabr.blog.event.EntityChangePublisher;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -15,6 +16,7 @@ import java.util.List;
         @Index(name = "idx_category_slug", columnList = "slug"),
         @Index(name = "idx_category_active", columnList = "active")
 })
+@EntityListeners(EntityChangePublisher.class)
 public class Category {
 
     @Id
@@ -53,6 +55,15 @@ public class Category {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Posts publicados, mantido por triggers do PostgreSQL (schema.sql); somente leitura aqui
+    @Column(name = "published_post_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long publishedPostCount = 0L;
+
+    // Slug como lido do banco: após uma renomeação, as outras instâncias ainda guardam a chave antiga
+    @Transient
+    private String loadedSlug;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Post> posts = new ArrayList<>();
 
@@ -65,6 +76,11 @@ public class Category {
         this.description = description;
     }
 
+    @PostLoad
+    protected void rememberLoadedSlug() {
+        loadedSlug = slug;
+    }
+
     public Long getId() {
         return id;
     }
@@ -145,6 +161,18 @@ public class Category {
         this.updatedAt = updatedAt;
     }
 
+    public String getLoadedSlug() {
+        return loadedSlug;
+    }
+
+    public Long getPublishedPostCount() {
+        return publishedPostCount;
+    }
+
+    public void setPublishedPostCount(Long publishedPostCount) {
+        this.publishedPostCount = publishedPostCount;
+    }
+
     public List<Post> getPosts() {
         return posts;
     }
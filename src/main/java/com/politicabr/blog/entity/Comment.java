@@ -1,5 +1,6 @@
 package com.politicabr.blog.entity;
 
+import com.politicabr.blog.event.EntityChangePublisher;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
         @Index(name = "idx_comment_approved", columnList = "approved"),
         @Index(name = "idx_comment_created", columnList = "created_at")
 })
+@EntityListeners(EntityChangePublisher.class)
 public class Comment {
 
     @Id
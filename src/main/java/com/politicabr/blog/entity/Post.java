@@ -1,5 +1,6 @@
 package com.politicabr.blog.entity;
 
+import com.politicabr.blog.event.EntityChangePublisher;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -22,8 +23,15 @@ import java.util.Set;
         @Index(name = "idx_post_slug", columnList = "slug"),
         @Index(name = "idx_post_published", columnList = "published"),
         @Index(name = "idx_post_created_at", columnList = "created_at"),
-        @Index(name = "idx_post_category", columnList = "category_id")
+        @Index(name = "idx_post_category", columnList = "category_id"),
+        // Índices compostos da paginação por cursor (filtro + chave de ordenação)
+        @Index(name = "idx_post_published_created", columnList = "published, created_at, id"),
+        @Index(name = "idx_post_featured_created", columnList = "published, featured, created_at, id"),
+        @Index(name = "idx_post_category_created", columnList = "category_id, created_at, id"),
+        @Index(name = "idx_post_author_created", columnList = "author_id, created_at, id"),
+        @Index(name = "idx_post_published_at", columnList = "published_at, id")
 })
+@EntityListeners(EntityChangePublisher.class)
 public class Post {
 
     @Id
@@ -1,5 +1,6 @@
 package com.politicabr.blog.entity;
 
+import com.politicabr.blog.event.EntityChangePublisher;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -13,6 +14,7 @@ import java.util.Set;
 @Table(name = "tags", indexes = {
         @Index(name = "idx_tag_slug", columnList = "slug")
 })
+@EntityListeners(EntityChangePublisher.class)
 public class Tag {
 
     @Id
@@ -31,6 +33,15 @@ public class Tag {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Posts publicados, mantido por triggers do PostgreSQL (schema.sql); somente leitura aqui
+    @Column(name = "published_post_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long publishedPostCount = 0L;
+
+    // Slug como lido do banco: após uma renomeação, as outras instâncias ainda guardam a chave antiga
+    @Transient
+    private String loadedSlug;
+
     @ManyToMany(mappedBy = "tags")
     private Set<Post> posts = new HashSet<>();
 
@@ -42,6 +53,11 @@ public class Tag {
         this.slug = slug;
     }
 
+    @PostLoad
+    protected void rememberLoadedSlug() {
+        loadedSlug = slug;
+    }
+
     public Long getId() {
         return id;
     }
@@ -74,6 +90,18 @@ public class Tag {
         this.createdAt = createdAt;
     }
 
+    public String getLoadedSlug() {
+        return loadedSlug;
+    }
+
+    public Long getPublishedPostCount() {
+        return publishedPostCount;
+    }
+
+    public void setPublishedPostCount(Long publishedPostCount) {
+        this.publishedPostCount = publishedPostCount;
+    }
+
     public Set<Post> getPosts() {
         return posts;
     }
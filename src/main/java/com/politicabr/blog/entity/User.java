@@ -1,6 +1,7 @@
 package com.politicabr.blog.entity;
 
 import com.politicabr.blog.entity.enums.UserRole;
+import com.politicabr.blog.event.EntityChangePublisher;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -19,6 +20,7 @@ import java.util.List;
         @Index(name = "idx_user_role", columnList = "role"),
         @Index(name = "idx_user_active", columnList = "active")
 })
+@EntityListeners(EntityChangePublisher.class)
 public class User {
 
     @Id
@@ -0,0 +1,8 @@
+package com.politicabr.blog.entity.enums;
+
+public enum MailOutboxStatus {
+    PENDING,    // Aguardando envio (ou nova tentativa após next_attempt_at)
+    SENDING,    // Reservado por um dispatcher
+    SENT,       // Entregue ao servidor SMTP
+    FAILED      // Tentativas esgotadas
+}
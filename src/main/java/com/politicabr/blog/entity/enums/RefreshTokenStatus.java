@@ -0,0 +1,7 @@
+package com.politicabr.blog.entity.enums;
+
+public enum RefreshTokenStatus {
+    ACTIVE,     // Cabeça atual da família, aceita no próximo refresh
+    ROTATED,    // Já trocado por um novo token; reapresentá-lo indica reuso
+    REVOKED     // Família revogada por reuso detectado
+}
@@ -0,0 +1,78 @@
+package com.politicabr.blog.event;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Publica {@link EntityChangedEvent} (UPDATED) quando só uma coleção de uma entidade muda.
+ *
+ * Sem coluna alterada o Hibernate não executa o UPDATE da entidade, então o {@code @PostUpdate}
+ * do {@link EntityChangePublisher} não dispara: trocar as tags de um post, por exemplo, passaria
+ * despercebido pelos índices e caches. Vale apenas para coleções do lado dono do relacionamento
+ * (as inversas não geram escrita) e para entidades que já publicam eventos.
+ */
+@Component
+public class CollectionChangePublisher implements PostCollectionUpdateEventListener, PostCollectionRecreateEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private SessionFactoryImplementor sessionFactory;
+
+    @PostConstruct
+    void register() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        publish(event);
+    }
+
+    private void publish(AbstractCollectionEvent event) {
+        Object owner = event.getAffectedOwnerOrNull();
+        if (owner == null || event.getCollection().getRole() == null) {
+            return;
+        }
+        if (sessionFactory.getMappingMetamodel().getCollectionDescriptor(event.getCollection().getRole()).isInverse()) {
+            return;
+        }
+        Class<?> ownerType = Hibernate.getClass(owner);
+        if (!publishesChanges(ownerType)) {
+            return;
+        }
+        eventPublisher.publishEvent(new EntityChangedEvent(ownerType, event.getAffectedOwnerIdOrNull(),
+                EntityChangedEvent.ChangeType.UPDATED, owner));
+    }
+
+    private static boolean publishesChanges(Class<?> type) {
+        EntityListeners listeners = type.getAnnotation(EntityListeners.class);
+        return listeners != null && Arrays.asList(listeners.value()).contains(EntityChangePublisher.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.politicabr.blog.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Listener JPA que converte callbacks de ciclo de vida em {@link EntityChangedEvent}.
+ * Registrado nas entidades via {@code @EntityListeners}; o Hibernate obtém a instância do contexto Spring.
+ */
+@Component
+public class EntityChangePublisher {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onCreate(Object entity) {
+        publish(entity, EntityChangedEvent.ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        publish(entity, EntityChangedEvent.ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void onDelete(Object entity) {
+        publish(entity, EntityChangedEvent.ChangeType.DELETED);
+    }
+
+    private void publish(Object entity, EntityChangedEvent.ChangeType changeType) {
+        Class<?> entityType = Hibernate.getClass(entity);
+        eventPublisher.publishEvent(new EntityChangedEvent(entityType, idOf(entity), changeType, entity));
+    }
+
+    private Object idOf(Object entity) {
+        try {
+            Method getId = entity.getClass().getMethod("getId");
+            return getId.invoke(entity);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.politicabr.blog.event;
+
+/**
+ * Evento publicado quando uma entidade JPA é criada, alterada ou removida.
+ * Consumidores que dependem do estado persistido devem usar
+ * {@code @TransactionalEventListener} para reagir somente após o commit.
+ */
+public class EntityChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Class<?> entityType;
+    private final Object entityId;
+    private final ChangeType changeType;
+    private final Object entity;
+
+    public EntityChangedEvent(Class<?> entityType, Object entityId, ChangeType changeType, Object entity) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeType = changeType;
+        this.entity = entity;
+    }
+
+    public boolean isAbout(Class<?> type) {
+        return type.equals(entityType);
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public Object getEntityId() {
+        return entityId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityChangedEvent{" + "entityType=" + entityType.getSimpleName() + ", entityId=" + entityId + ", changeType=" + changeType + '}';
+    }
+}
@@ -24,15 +24,7 @@ public class CategoryMapper {
         dto.setCreatedAt(category.getCreatedAt());
         dto.setUpdatedAt(category.getUpdatedAt());
 
-        // Contar posts publicados
-        if (category.getPosts() != null) {
-            long count = category.getPosts().stream()
-                    .filter(post -> Boolean.TRUE.equals(post.getPublished()))
-                    .count();
-            dto.setPostCount(count);
-        } else {
-            dto.setPostCount(0L);
-        }
+        dto.setPostCount(category.getPublishedPostCount() == null ? 0L : category.getPublishedPostCount());
 
         return dto;
     }
@@ -18,15 +18,7 @@ public class TagMapper {
         dto.setSlug(tag.getSlug());
         dto.setCreatedAt(tag.getCreatedAt());
 
-        // Contar posts
-        if (tag.getPosts() != null) {
-            long count = tag.getPosts().stream()
-                    .filter(post -> Boolean.TRUE.equals(post.getPublished()))
-                    .count();
-            dto.setPostCount(count);
-        } else {
-            dto.setPostCount(0L);
-        }
+        dto.setPostCount(tag.getPublishedPostCount() == null ? 0L : tag.getPublishedPostCount());
 
         return dto;
     }
@@ -0,0 +1,468 @@
+package com.politicabr.blog.related;
+
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.dto.RelatedPostDTO;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.event.EntityChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Posts relacionados pré-calculados, servidos da memória com uma consulta por chave.
+ *
+ * A pontuação de um candidato combina a sobreposição de tags ponderada por IDF (Jaccard
+ * ponderado: soma dos IDFs das tags em comum sobre a soma dos IDFs da união), a mesma
+ * categoria e a recência do candidato. Candidatos são os posts que compartilham alguma
+ * tag; tags muito frequentes não geram candidatos (têm IDF baixo e custariam caro), e
+ * posts com poucos candidatos são completados com os mais recentes da mesma categoria.
+ *
+ * A reconstrução completa roda em paralelo em todos os núcleos na inicialização e
+ * diariamente. Posts alterados são recalculados em lote junto com os posts afetados
+ * (que compartilham tags ou já o listavam como relacionado); os IDFs são atualizados
+ * na reconstrução completa seguinte.
+ */
+@Component
+public class RelatedPostsIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatedPostsIndex.class);
+
+    private static final double TAG_WEIGHT = 1.0;
+    private static final double CATEGORY_WEIGHT = 0.2;
+    private static final double RECENCY_WEIGHT = 0.1;
+    private static final double RECENCY_DAYS = 180;
+
+    // Posts recentes por categoria guardados para completar listas com poucos candidatos
+    private static final int CATEGORY_FALLBACK = 50;
+
+    private static final String POSTS_SQL = """
+            SELECT id, title, slug, category_id, EXTRACT(EPOCH FROM COALESCE(published_at, created_at)) AS published
+            FROM posts WHERE published = true
+            """;
+    private static final String TAGS_SQL = """
+            SELECT pt.post_id, pt.tag_id FROM post_tags pt
+            JOIN posts p ON p.id = pt.post_id WHERE p.published = true
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${related.size:10}")
+    private int size;
+
+    @Value("${related.max-tag-posts:5000}")
+    private int maxTagPosts;
+
+    @Value("${related.full-rebuild-threshold:500}")
+    private int fullRebuildThreshold;
+
+    @Value("${related.rebuild-parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    // Corpus: documentos por número interno, postings de tags e posts recentes por categoria
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<Long, Integer> docByPost = new HashMap<>();
+    private final Map<Long, int[]> tagPostings = new HashMap<>();
+    private final Map<Long, Double> idf = new HashMap<>();
+    private Map<Long, int[]> recentByCategory = Map.of();
+    private int liveDocs;
+
+    private final ConcurrentHashMap<Long, List<Related>> related = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @PostConstruct
+    void createPool() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        // Posts alterados em outras instâncias entram na mesma fila de atualização incremental
+        cacheInvalidationBus.register(CacheInvalidationBus.POSTS, key -> dirty.add(Long.valueOf(key)),
+                () -> CompletableFuture.runAsync(this::rebuild));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        CompletableFuture.runAsync(this::rebuild);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<RelatedPostDTO> getRelated(long postId, int limit) {
+        List<Related> entries = related.getOrDefault(postId, List.of());
+        int count = Math.max(0, Math.min(limit, entries.size()));
+        List<RelatedPostDTO> result = new ArrayList<>(count);
+        for (Related entry : entries.subList(0, count)) {
+            result.add(new RelatedPostDTO(entry.postId(), entry.title(), entry.slug(), entry.score()));
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(EntityChangedEvent event) {
+        if (event.isAbout(Post.class)) {
+            dirty.add((Long) event.getEntityId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${related.update-delay:10000}")
+    public void updateChanged() {
+        if (!ready || dirty.isEmpty() || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        List<Long> changed = List.copyOf(dirty);
+        dirty.removeAll(changed);
+        try {
+            if (changed.size() > fullRebuildThreshold) {
+                rebuildAll();
+            } else {
+                update(changed);
+            }
+        } catch (RuntimeException ex) {
+            dirty.addAll(changed);
+            logger.warn("Could not update related posts: {}", ex.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @Scheduled(cron = "${related.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildAll();
+        } catch (RuntimeException ex) {
+            logger.error("Could not build related posts index", ex);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void update(List<Long> changed) {
+        Map<Long, Doc> loaded = load(changed);
+        Set<Integer> affected = new HashSet<>();
+        lock.writeLock().lock();
+        try {
+            for (Long postId : changed) {
+                affected.addAll(neighbors(postId));
+                removeDoc(postId);
+                Doc doc = loaded.get(postId);
+                if (doc != null) {
+                    affected.add(addDoc(doc));
+                    affected.addAll(neighbors(postId));
+                } else {
+                    related.remove(postId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        recompute(affected.stream().mapToInt(Integer::intValue).toArray());
+        logger.debug("Related posts updated for {} changed posts ({} recomputed)", changed.size(), affected.size());
+    }
+
+    private void rebuildAll() {
+        long start = System.currentTimeMillis();
+        Map<Long, Doc> loaded = load(null);
+
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            docByPost.clear();
+            tagPostings.clear();
+            liveDocs = 0;
+            for (Doc doc : loaded.values()) {
+                addDoc(doc);
+            }
+            computeIdf();
+            computeRecentByCategory();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        recompute(IntStream.range(0, loaded.size()).toArray());
+        related.keySet().retainAll(loaded.keySet());
+        ready = true;
+        logger.info("Related posts index built for {} posts in {} ms",
+                loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    // Calcula em paralelo as listas dos documentos indicados
+    private void recompute(int[] targets) {
+        double now = System.currentTimeMillis() / 1000.0;
+        lock.readLock().lock();
+        try {
+            ThreadLocal<double[]> scratch = ThreadLocal.withInitial(() -> new double[docs.size()]);
+            pool.submit(() -> Arrays.stream(targets).parallel().forEach(target -> {
+                Doc doc = docs.get(target);
+                if (doc != null) {
+                    related.put(doc.postId, computeRelated(target, scratch.get(), now));
+                }
+            })).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Falha ao calcular posts relacionados", ex.getCause());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Related> computeRelated(int target, double[] intersection, double now) {
+        Doc doc = docs.get(target);
+        double docWeight = tagWeight(doc);
+
+        // Peso das tags em comum com cada candidato
+        List<Integer> touched = new ArrayList<>();
+        for (long tag : doc.tags) {
+            int[] postings = tagPostings.get(tag);
+            if (postings == null || postings.length > maxTagPosts) {
+                continue;
+            }
+            double weight = idf(tag);
+            for (int candidate : postings) {
+                if (candidate != target && docs.get(candidate) != null) {
+                    if (intersection[candidate] == 0) {
+                        touched.add(candidate);
+                    }
+                    intersection[candidate] += weight;
+                }
+            }
+        }
+
+        PriorityQueue<Related> top = new PriorityQueue<>(Comparator.comparingDouble(Related::score));
+        for (int candidate : touched) {
+            Doc other = docs.get(candidate);
+            double shared = intersection[candidate];
+            intersection[candidate] = 0;
+            double union = docWeight + tagWeight(other) - shared;
+            double score = TAG_WEIGHT * (union > 0 ? shared / union : 0) + contextScore(doc, other, now);
+            offer(top, new Related(other.postId, other.title, other.slug, score));
+        }
+
+        // Completa com posts recentes da mesma categoria
+        if (top.size() < size && doc.categoryId != null) {
+            Set<Integer> present = new HashSet<>(touched);
+            for (int candidate : recentByCategory.getOrDefault(doc.categoryId, new int[0])) {
+                Doc other = candidate < docs.size() ? docs.get(candidate) : null;
+                if (candidate != target && other != null && !present.contains(candidate)) {
+                    offer(top, new Related(other.postId, other.title, other.slug, contextScore(doc, other, now)));
+                }
+            }
+        }
+
+        List<Related> ordered = new ArrayList<>(top);
+        ordered.sort(Comparator.comparingDouble(Related::score).reversed());
+        return List.copyOf(ordered);
+    }
+
+    private double contextScore(Doc doc, Doc other, double now) {
+        double score = 0;
+        if (doc.categoryId != null && doc.categoryId.equals(other.categoryId)) {
+            score += CATEGORY_WEIGHT;
+        }
+        double ageDays = Math.max(0, now - other.publishedAt) / 86_400;
+        return score + RECENCY_WEIGHT * Math.exp(-ageDays / RECENCY_DAYS);
+    }
+
+    private void offer(PriorityQueue<Related> top, Related candidate) {
+        top.offer(candidate);
+        if (top.size() > size) {
+            top.poll();
+        }
+    }
+
+    private double tagWeight(Doc doc) {
+        double weight = 0;
+        for (long tag : doc.tags) {
+            weight += idf(tag);
+        }
+        return weight;
+    }
+
+    // Tags novas desde a última reconstrução usam o IDF calculado na hora
+    private double idf(long tag) {
+        Double value = idf.get(tag);
+        if (value != null) {
+            return value;
+        }
+        int[] postings = tagPostings.get(tag);
+        return Math.log(1 + (double) Math.max(1, liveDocs) / (postings == null ? 1 : postings.length));
+    }
+
+    private void computeIdf() {
+        idf.clear();
+        for (Map.Entry<Long, int[]> entry : tagPostings.entrySet()) {
+            idf.put(entry.getKey(), Math.log(1 + (double) liveDocs / entry.getValue().length));
+        }
+    }
+
+    private void computeRecentByCategory() {
+        Map<Long, List<Integer>> byCategory = new HashMap<>();
+        for (int i = 0; i < docs.size(); i++) {
+            Doc doc = docs.get(i);
+            if (doc != null && doc.categoryId != null) {
+                byCategory.computeIfAbsent(doc.categoryId, c -> new ArrayList<>()).add(i);
+            }
+        }
+        Map<Long, int[]> recent = new HashMap<>();
+        byCategory.forEach((categoryId, members) -> recent.put(categoryId, members.stream()
+                .sorted(Comparator.comparingDouble((Integer i) -> docs.get(i).publishedAt).reversed())
+                .limit(CATEGORY_FALLBACK)
+                .mapToInt(Integer::intValue)
+                .toArray()));
+        recentByCategory = recent;
+    }
+
+    // Documentos que compartilham tags com o post ou o listam como relacionado
+    private Set<Integer> neighbors(long postId) {
+        Set<Integer> neighbors = new HashSet<>();
+        Integer index = docByPost.get(postId);
+        if (index != null) {
+            for (long tag : docs.get(index).tags) {
+                int[] postings = tagPostings.get(tag);
+                if (postings != null && postings.length <= maxTagPosts) {
+                    for (int candidate : postings) {
+                        neighbors.add(candidate);
+                    }
+                }
+            }
+        }
+        related.forEach((owner, entries) -> {
+            for (Related entry : entries) {
+                if (entry.postId() == postId) {
+                    Integer ownerIndex = docByPost.get(owner);
+                    if (ownerIndex != null) {
+                        neighbors.add(ownerIndex);
+                    }
+                    break;
+                }
+            }
+        });
+        return neighbors;
+    }
+
+    private int addDoc(Doc doc) {
+        int index = docs.size();
+        docs.add(doc);
+        docByPost.put(doc.postId, index);
+        for (long tag : doc.tags) {
+            tagPostings.merge(tag, new int[]{index}, (current, added) -> {
+                int[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = index;
+                return grown;
+            });
+        }
+        liveDocs++;
+        return index;
+    }
+
+    private void removeDoc(long postId) {
+        Integer index = docByPost.remove(postId);
+        if (index == null) {
+            return;
+        }
+        for (long tag : docs.get(index).tags) {
+            int[] postings = tagPostings.get(tag);
+            if (postings != null) {
+                int[] remaining = Arrays.stream(postings).filter(i -> i != index).toArray();
+                if (remaining.length == 0) {
+                    tagPostings.remove(tag);
+                } else {
+                    tagPostings.put(tag, remaining);
+                }
+            }
+        }
+        // O número interno não é reaproveitado até a próxima reconstrução completa
+        docs.set(index, null);
+        liveDocs--;
+    }
+
+    // Posts publicados e suas tags; postIds nulo carrega todos
+    private Map<Long, Doc> load(List<Long> postIds) {
+        String filter = postIds == null ? "" : " AND id = ANY(?::bigint[])";
+        Object[] args = postIds == null ? new Object[0] : new Object[]{postIds.toArray(Long[]::new)};
+
+        Map<Long, Doc> loaded = new HashMap<>();
+        jdbcTemplate.query(POSTS_SQL + filter, rs -> {
+            long id = rs.getLong("id");
+            loaded.put(id, new Doc(id, rs.getString("title"), rs.getString("slug"),
+                    rs.getObject("category_id", Long.class), rs.getDouble("published")));
+        }, args);
+
+        Map<Long, List<Long>> tags = new HashMap<>();
+        jdbcTemplate.query(TAGS_SQL + (postIds == null ? "" : " AND p.id = ANY(?::bigint[])"),
+                rs -> {
+                    tags.computeIfAbsent(rs.getLong("post_id"), id -> new ArrayList<>()).add(rs.getLong("tag_id"));
+                }, args);
+        tags.forEach((postId, tagIds) -> {
+            Doc doc = loaded.get(postId);
+            if (doc != null) {
+                doc.tags = tagIds.stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+        });
+        return loaded;
+    }
+
+    private static final class Doc {
+        private final long postId;
+        private final String title;
+        private final String slug;
+        private final Long categoryId;
+        private final double publishedAt;
+        private long[] tags = new long[0];
+
+        Doc(long postId, String title, String slug, Long categoryId, double publishedAt) {
+            this.postId = postId;
+            this.title = title;
+            this.slug = slug;
+            this.categoryId = categoryId;
+            this.publishedAt = publishedAt;
+        }
+    }
+
+    private record Related(long postId, String title, String slug, double score) {
+    }
+}
@@ -22,25 +22,15 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query("SELECT c FROM Category c WHERE c.active = true ORDER BY c.name")
     List<Category> findAllActive();
 
-    // Categorias com contagem de posts
-    @Query("""
-            SELECT c, COUNT(p) as postCount 
-            FROM Category c 
-            LEFT JOIN c.posts p 
-            WHERE c.active = true AND (p.published = true OR p IS NULL)
-            GROUP BY c 
-            ORDER BY c.name
-            """)
+    // Categorias com contagem de posts (contador mantido por trigger, sem GROUP BY sobre posts)
+    @Query("SELECT c, c.publishedPostCount FROM Category c WHERE c.active = true ORDER BY c.name")
     List<Object[]> findActiveCategoriesWithPostCount();
 
     // Categorias mais populares
     @Query("""
-            SELECT c 
-            FROM Category c 
-            JOIN c.posts p 
-            WHERE c.active = true AND p.published = true 
-            GROUP BY c 
-            ORDER BY COUNT(p) DESC
+            SELECT c FROM Category c
+            WHERE c.active = true AND c.publishedPostCount > 0
+            ORDER BY c.publishedPostCount DESC
             """)
     List<Category> findMostPopularCategories();
 
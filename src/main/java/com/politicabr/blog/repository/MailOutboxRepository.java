@@ -0,0 +1,9 @@
+package com.politicabr.blog.repository;
+
+import com.politicabr.blog.entity.MailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+}
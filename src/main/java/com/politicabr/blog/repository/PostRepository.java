@@ -1,16 +1,23 @@
 package com.politicabr.blog.repository;
 
+import com.politicabr.blog.dto.PostSummaryDTO;
 import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.util.CursorCodec;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -19,47 +26,65 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     // Busca por slug
     Optional<Post> findBySlugAndPublishedTrue(String slug);
 
+    // Projeção das listagens: autor e categoria na mesma consulta, sem o conteúdo.
+    // As tags da página vêm de attachTags; listagens por offset devolvem Slice (sem COUNT).
+    String SUMMARY_SELECT = """
+            SELECT new com.politicabr.blog.dto.PostSummaryDTO(
+                p.id, p.title, p.excerpt, p.slug, p.imageUrl, p.viewCount, p.createdAt, p.publishedAt, p.updatedAt,
+                a.id, a.username, a.firstName, a.lastName, a.avatarUrl, c.id, c.name, c.slug)
+            FROM Post p JOIN p.author a LEFT JOIN p.category c
+            """;
+
     // Posts publicados ordenados por data
-    @Query("SELECT p FROM Post p WHERE p.published = true ORDER BY p.createdAt DESC")
-    Page<Post> findPublishedPosts(Pageable pageable);
+    default Slice<PostSummaryDTO> findPublishedPosts(Pageable pageable) {
+        return withTags(findPublishedPostRows(pageable));
+    }
+
+    @Query(SUMMARY_SELECT + "WHERE p.published = true ORDER BY p.createdAt DESC")
+    Slice<PostSummaryDTO> findPublishedPostRows(Pageable pageable);
 
     // Posts em destaque
-    @Query("SELECT p FROM Post p WHERE p.published = true AND p.featured = true ORDER BY p.createdAt DESC")
-    Page<Post> findFeaturedPosts(Pageable pageable);
+    default Slice<PostSummaryDTO> findFeaturedPosts(Pageable pageable) {
+        return withTags(findFeaturedPostRows(pageable));
+    }
+
+    @Query(SUMMARY_SELECT + "WHERE p.published = true AND p.featured = true ORDER BY p.createdAt DESC")
+    Slice<PostSummaryDTO> findFeaturedPostRows(Pageable pageable);
 
     // Posts por categoria
-    @Query("SELECT p FROM Post p WHERE p.published = true AND p.category.slug = :categorySlug ORDER BY p.createdAt DESC")
-    Page<Post> findByCategory(@Param("categorySlug") String categorySlug, Pageable pageable);
+    default Slice<PostSummaryDTO> findByCategory(String categorySlug, Pageable pageable) {
+        return slice(findIdsByCategory(categorySlug, CursorCodec.FIRST_PAGE.getSortKey(), CursorCodec.FIRST_PAGE.getId(),
+                pageable.getPageSize() + 1, pageable.getOffset()), pageable);
+    }
 
     // Posts por autor
-    @Query("SELECT p FROM Post p WHERE p.published = true AND p.author.id = :authorId ORDER BY p.createdAt DESC")
-    Page<Post> findByAuthor(@Param("authorId") Long authorId, Pageable pageable);
+    default Slice<PostSummaryDTO> findByAuthor(Long authorId, Pageable pageable) {
+        return withTags(findRowsByAuthor(authorId, pageable));
+    }
+
+    @Query(SUMMARY_SELECT + "WHERE p.published = true AND a.id = :authorId ORDER BY p.createdAt DESC")
+    Slice<PostSummaryDTO> findRowsByAuthor(@Param("authorId") Long authorId, Pageable pageable);
 
-    // Busca full-text em PostgreSQL
+    // Busca full-text em PostgreSQL (search_vector gerado e indexado com GIN, ver schema.sql)
     @Query(value = """
-             SELECT p.* FROM posts p\s
-                    WHERE p.published = true\s
-                    AND (to_tsvector('portuguese', p.title || ' ' || p.excerpt || ' ' || p.content) @@ plainto_tsquery('portuguese', :searchTerm))
-                    ORDER BY ts_rank(to_tsvector('portuguese', p.title || ' ' || p.excerpt || ' ' || p.content), plainto_tsquery('portuguese', :searchTerm)) DESC
-            """, nativeQuery = true)
+            SELECT p.* FROM posts p, plainto_tsquery('portuguese', :searchTerm) q
+            WHERE p.published = true AND p.search_vector @@ q
+            ORDER BY ts_rank(p.search_vector, q) DESC, p.id DESC
+            """,
+            countQuery = """
+            SELECT count(*) FROM posts p
+            WHERE p.published = true AND p.search_vector @@ plainto_tsquery('portuguese', :searchTerm)
+            """,
+            nativeQuery = true)
     Page<Post> searchPosts(@Param("searchTerm") String searchTerm, Pageable pageable);
 
-    // Posts relacionados (mesma categoria, excluindo o atual)
-    @Query("SELECT p FROM Post p WHERE p.published = true AND p.category.id = :categoryId AND p.id != :currentPostId ORDER BY p.createdAt DESC")
-    List<Post> findRelatedPosts(@Param("categoryId") Long categoryId, @Param("currentPostId") Long currentPostId, Pageable pageable);
-
-    // Post mais visualizados
-    @Query("SELECT p FROM Post p WHERE p.published = true ORDER BY p.viewCount DESC")
-    Page<Post> findMostViewed(Pageable pageable);
-
     // Posts recentes (últimos N dias)
-    @Query("SELECT p FROM Post p WHERE p.published = true AND p.publishedAt >= :since ORDER BY p.publishedAt DESC")
-    Page<Post> findRecentPosts(@Param("since") LocalDateTime since, Pageable pageable);
+    default Slice<PostSummaryDTO> findRecentPosts(LocalDateTime since, Pageable pageable) {
+        return withTags(findRecentPostRows(since, pageable));
+    }
 
-    // Incrementar contador de visualizações
-    @Modifying
-    @Query("UPDATE Post p SET p.viewCount = p.viewCount + 1 WHERE p.id = :postId")
-    void incrementViewCount(@Param("postId") Long postId);
+    @Query(SUMMARY_SELECT + "WHERE p.published = true AND p.publishedAt >= :since ORDER BY p.publishedAt DESC")
+    Slice<PostSummaryDTO> findRecentPostRows(@Param("since") LocalDateTime since, Pageable pageable);
 
     // Contar posts por categoria
     @Query("SELECT COUNT(p) FROM Post p WHERE p.published = true AND p.category.id = :categoryId")
@@ -70,15 +95,148 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     Long countByAuthor(@Param("authorId") Long authorId);
 
     // Posts por tag
-    @Query("SELECT DISTINCT p FROM Post p JOIN p.tags t WHERE p.published = true AND t.slug = :tagSlug ORDER BY p.createdAt DESC")
-    Page<Post> findByTag(@Param("tagSlug") String tagSlug, Pageable pageable);
+    default Slice<PostSummaryDTO> findByTag(String tagSlug, Pageable pageable) {
+        return slice(findIdsByTags(List.of(tagSlug), CursorCodec.FIRST_PAGE.getSortKey(), CursorCodec.FIRST_PAGE.getId(),
+                pageable.getPageSize() + 1, pageable.getOffset()), pageable);
+    }
+
+    // Paginação por cursor (keyset): continua a partir de (createdAt, id) do último item entregue,
+    // sem OFFSET nem COUNT. Na primeira página o cursor é um sentinela acima de qualquer linha.
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.published = true AND (p.createdAt, p.id) < (:createdAt, :id)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<PostSummaryDTO> findPublishedPostsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.published = true AND p.featured = true AND (p.createdAt, p.id) < (:createdAt, :id)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<PostSummaryDTO> findFeaturedPostsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    default List<PostSummaryDTO> findByCategoryAfter(String categorySlug, LocalDateTime createdAt, Long id, Limit limit) {
+        return findSummaries(findIdsByCategory(categorySlug, createdAt, id, limit.max(), 0));
+    }
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.published = true AND a.id = :authorId AND (p.createdAt, p.id) < (:createdAt, :id)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<PostSummaryDTO> findByAuthorAfter(@Param("authorId") Long authorId,
+                                 @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    default List<PostSummaryDTO> findByTagAfter(String tagSlug, LocalDateTime createdAt, Long id, Limit limit) {
+        return findByTagsAfter(List.of(tagSlug), createdAt, id, limit);
+    }
+
+    // Posts com qualquer uma das tags
+    default List<PostSummaryDTO> findByTagsAfter(Collection<String> tagSlugs, LocalDateTime createdAt, Long id, Limit limit) {
+        return findSummaries(findIdsByTags(tagSlugs, createdAt, id, limit.max(), 0));
+    }
+
+    @Query(SUMMARY_SELECT + """
+            WHERE p.published = true AND p.publishedAt >= :since AND (p.publishedAt, p.id) < (:publishedAt, :id)
+            ORDER BY p.publishedAt DESC, p.id DESC
+            """)
+    List<PostSummaryDTO> findRecentPostsAfter(@Param("since") LocalDateTime since,
+                                    @Param("publishedAt") LocalDateTime publishedAt, @Param("id") Long id, Limit limit);
+
+    // Filtros por tag e categoria em duas fases. Primeiro só os ids da página, lidos de índices
+    // que cobrem a consulta (post_tags (tag_id, post_id) e posts (category_id, created_at, id)
+    // WHERE published, em schema.sql); depois apenas essas linhas são montadas. O EXISTS evita
+    // o DISTINCT sobre linhas inteiras de posts quando há mais de uma tag.
+
+    @Query(value = """
+            SELECT p.id FROM posts p
+            WHERE p.published = true AND (p.created_at, p.id) < (:createdAt, :id)
+              AND EXISTS (SELECT 1 FROM post_tags pt
+                          WHERE pt.post_id = p.id
+                            AND pt.tag_id IN (SELECT t.id FROM tags t WHERE t.slug IN (:tagSlugs)))
+            ORDER BY p.created_at DESC, p.id DESC
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Long> findIdsByTags(@Param("tagSlugs") Collection<String> tagSlugs,
+                             @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                             @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(value = """
+            SELECT p.id FROM posts p
+            WHERE p.published = true AND p.category_id = (SELECT c.id FROM categories c WHERE c.slug = :categorySlug)
+              AND (p.created_at, p.id) < (:createdAt, :id)
+            ORDER BY p.created_at DESC, p.id DESC
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Long> findIdsByCategory(@Param("categorySlug") String categorySlug,
+                                 @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                 @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    default List<PostSummaryDTO> findSummaries(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : findSummariesByIds(ids);
+    }
+
+    private Slice<PostSummaryDTO> slice(List<Long> ids, Pageable pageable) {
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        List<Long> pageIds = hasNext ? ids.subList(0, pageable.getPageSize()) : ids;
+        return withTags(new SliceImpl<>(findSummaries(pageIds), pageable, hasNext));
+    }
+
+    private Slice<PostSummaryDTO> withTags(Slice<PostSummaryDTO> slice) {
+        attachTags(slice.getContent());
+        return slice;
+    }
+
+    /**
+     * Preenche as tags de uma página de resumos com uma única consulta (findTagsByPostIds),
+     * sem N+1. Compartilhado pelas listagens por offset e por cursor.
+     */
+    default void attachTags(List<PostSummaryDTO> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+        Map<Long, PostSummaryDTO> byId = new HashMap<>();
+        for (PostSummaryDTO summary : summaries) {
+            byId.put(summary.getId(), summary);
+        }
+        for (Object[] row : findTagsByPostIds(byId.keySet())) {
+            byId.get((Long) row[0]).getTags().add(
+                    new PostSummaryDTO.TagChip((Long) row[1], (String) row[2], (String) row[3]));
+        }
+    }
+
+    // Ids de posts publicados em ordem de id (carga em lotes de índices em memória)
+    @Query("SELECT p.id FROM Post p WHERE p.published = true AND p.id > :afterId ORDER BY p.id")
+    List<Long> findPublishedIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Id, categoria, título e slug de um post publicado (metadados em cache para estatísticas e trending)
+    @Query("SELECT p.id, c.id, p.title, p.slug FROM Post p LEFT JOIN p.category c WHERE p.id = :id AND p.published = true")
+    List<Object[]> findPublishedMetadata(@Param("id") Long id);
+
+    // Títulos de posts publicados para o autocompletar, dos mais vistos para os menos vistos
+    @Query("SELECT p.id, p.title, p.slug, p.viewCount FROM Post p WHERE p.published = true ORDER BY p.viewCount DESC, p.id DESC")
+    List<Object[]> findSuggestableTitles(Limit limit);
+
+    // Tags de uma página de resumos, numa única consulta: (postId, tagId, nome, slug)
+    @Query("SELECT p.id, t.id, t.name, t.slug FROM Post p JOIN p.tags t WHERE p.id IN :postIds ORDER BY t.name")
+    List<Object[]> findTagsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Posts com tags já carregadas (sem paginação: o fetch join é aplicado a uma lista de ids)
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.tags WHERE p.id IN :ids")
+    List<Post> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
 
     // Verificar se slug já existe
     boolean existsBySlug(String slug);
 
     // Posts do dashboard admin
-    @Query("SELECT p FROM Post p ORDER BY p.updatedAt DESC")
-    Page<Post> findAllForAdmin(Pageable pageable);
+    default Slice<PostSummaryDTO> findAllForAdmin(Pageable pageable) {
+        return withTags(findAllRowsForAdmin(pageable));
+    }
+
+    @Query(SUMMARY_SELECT + "ORDER BY p.updatedAt DESC")
+    Slice<PostSummaryDTO> findAllRowsForAdmin(Pageable pageable);
 
     // Estatísticas mensais
     @Query(value = """
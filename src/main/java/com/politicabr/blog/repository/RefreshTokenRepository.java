@@ -0,0 +1,47 @@
+package com.politicabr.blog.repository;
+
+import com.politicabr.blog.entity.RefreshToken;
+import com.politicabr.blog.entity.enums.RefreshTokenStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Troca de status atômica pelo índice único de jti, guardando quando (0 linhas = já não estava ativo)
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.status = :rotated, r.rotatedAt = :now WHERE r.jti = :jti AND r.status = :active")
+    int markRotated(@Param("jti") String jti,
+                    @Param("now") LocalDateTime now,
+                    @Param("active") RefreshTokenStatus active,
+                    @Param("rotated") RefreshTokenStatus rotated);
+
+    Optional<RefreshToken> findByJti(String jti);
+
+    // Revogar a família inteira; transação própria para sobreviver ao rollback do refresh rejeitado
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE RefreshToken r SET r.status = :revoked WHERE r.familyId = :familyId AND r.status <> :revoked")
+    int revokeFamily(@Param("familyId") String familyId, @Param("revoked") RefreshTokenStatus revoked);
+
+    // Remover um lote de tokens expirados
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE expires_at < :now
+                LIMIT :batchSize
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
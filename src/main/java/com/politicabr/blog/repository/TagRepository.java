@@ -1,6 +1,7 @@
 package com.politicabr.blog.repository;
 
 import com.politicabr.blog.entity.Tag;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -15,25 +16,11 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
 
     List<Tag> findByNameContainingIgnoreCase(String name);
 
-    // Tags mais usadas
-    @Query("""
-            SELECT t, COUNT(p) as postCount
-            FROM Tag t
-            LEFT JOIN t.posts p
-            WHERE p.published = true OR p IS NULL
-            GROUP BY t
-            ORDER BY COUNT(p) DESC
-            """)
-    List<Object[]> findPopularTags();
+    // Tags mais usadas (contador mantido por trigger, sem GROUP BY sobre posts)
+    @Query("SELECT t, t.publishedPostCount FROM Tag t ORDER BY t.publishedPostCount DESC, t.name ASC")
+    List<Object[]> findPopularTags(Limit limit);
 
     // Buscar todas as tags com contagem
-    @Query("""
-            SELECT t, COUNT(p) as postCount
-            FROM Tag t
-            LEFT JOIN t.posts p
-            WHERE p.published = true OR p IS NULL
-            GROUP BY t
-            ORDER BY t.name ASC
-            """)
+    @Query("SELECT t, t.publishedPostCount FROM Tag t ORDER BY t.name ASC")
     List<Object[]> findAllWithPostCount();
 }
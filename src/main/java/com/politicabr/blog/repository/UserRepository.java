@@ -1,12 +1,15 @@
 package com.politicabr.blog.repository;
 
 import com.politicabr.blog.entity.User;
+import com.politicabr.blog.security.UserStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,6 +28,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsernameOrEmail(String username, String email);
 
+    // Status mínimo para validar principals montados a partir do JWT
+    @Query("SELECT new com.politicabr.blog.security.UserStatus(u.id, u.active, u.role) FROM User u WHERE u.id = :id")
+    Optional<UserStatus> findStatusById(@Param("id") Long id);
+
+    // Troca o hash apenas se ainda for o verificado no login (não sobrescreve troca de senha concorrente)
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
     @Query("SELECT u FROM User u WHERE u.active = true AND u.role = :role")
     List<User> findActiveUsersByRole();
 
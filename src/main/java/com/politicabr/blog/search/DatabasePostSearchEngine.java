@@ -0,0 +1,28 @@
+package com.politicabr.blog.search;
+
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Busca full-text do PostgreSQL (search_vector + GIN).
+ */
+@Component
+public class DatabasePostSearchEngine implements PostSearchEngine {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Override
+    public String name() {
+        return "database";
+    }
+
+    @Override
+    public Page<Post> search(String query, Pageable pageable) {
+        return postRepository.searchPosts(query, pageable);
+    }
+}
@@ -0,0 +1,62 @@
+package com.politicabr.blog.search;
+
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Busca no índice em memória; o banco só carrega os posts da página por id.
+ * Enquanto o índice é construído, delega para a busca do PostgreSQL.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+public class InMemoryPostSearchEngine implements PostSearchEngine {
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private DatabasePostSearchEngine databaseSearchEngine;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public Page<Post> search(String query, Pageable pageable) {
+        if (!postSearchIndex.isReady()) {
+            return databaseSearchEngine.search(query, pageable);
+        }
+
+        int offset = (int) pageable.getOffset();
+        InvertedIndex.SearchHits hits = postSearchIndex.search(query, offset + pageable.getPageSize());
+        List<Long> pageIds = hits.postIds().subList(Math.min(offset, hits.postIds().size()), hits.postIds().size());
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.total());
+        }
+
+        // findAllById não preserva a ordem: reordenar pela relevância
+        Map<Long, Post> posts = postRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> content = pageIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, hits.total());
+    }
+}
@@ -0,0 +1,243 @@
+package com.politicabr.blog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória com ranqueamento BM25.
+ *
+ * Cada documento indexado recebe um número interno crescente; as postings de um termo
+ * são (delta do número, frequência) codificados em varint, o que costuma ocupar 2-3 bytes
+ * por ocorrência. Atualizar ou remover um post marca o número antigo como apagado
+ * (tombstone) e, na atualização, indexa o post de novo com um número novo. As postings
+ * apagadas continuam ocupando espaço até a próxima reconstrução.
+ */
+final class InvertedIndex {
+
+    // Parâmetros usuais do BM25
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Frequências ponderadas são guardadas com resolução de 1/4
+    private static final float TF_SCALE = 4f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByPost = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private long[] docPostIds = new long[1024];
+    private float[] docLengths = new float[1024];
+    private int nextDoc;
+    private int liveDocs;
+    private double liveLength;
+
+    /**
+     * Indexa (ou reindexa) um post. {@code termFrequencies} já vem ponderado por campo.
+     */
+    void put(long postId, Map<String, Float> termFrequencies) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(postId);
+
+            int doc = nextDoc++;
+            ensureCapacity(doc);
+
+            float length = 0;
+            for (Map.Entry<String, Float> entry : termFrequencies.entrySet()) {
+                int tf = Math.max(1, Math.round(entry.getValue() * TF_SCALE));
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(doc, tf);
+                length += entry.getValue();
+            }
+
+            docPostIds[doc] = postId;
+            docLengths[doc] = length;
+            docByPost.put(postId, doc);
+            liveDocs++;
+            liveLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Os {@code limit} melhores posts para os termos (OR entre termos) e o total de resultados.
+     */
+    SearchHits search(List<String> terms, int limit) {
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || liveDocs == 0) {
+                return new SearchHits(List.of(), 0);
+            }
+
+            float avgLength = (float) (liveLength / liveDocs);
+            Map<Integer, Float> scores = new HashMap<>();
+            for (String term : terms.stream().distinct().toList()) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                // docFrequency inclui documentos apagados; limitado para manter o idf positivo
+                int df = Math.min(list.docFrequency, liveDocs);
+                float idf = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+                list.forEach((doc, scaledTf) -> {
+                    if (deleted.get(doc)) {
+                        return;
+                    }
+                    float tf = scaledTf / TF_SCALE;
+                    float norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                    scores.merge(doc, idf * tf * (K1 + 1) / (tf + norm), Float::sum);
+                });
+            }
+
+            // Top-K com heap mínimo; desempate pelo documento mais recente
+            PriorityQueue<Map.Entry<Integer, Float>> top = new PriorityQueue<>(
+                    (a, b) -> a.getValue().equals(b.getValue())
+                            ? Integer.compare(a.getKey(), b.getKey())
+                            : Float.compare(a.getValue(), b.getValue()));
+            for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            long[] ordered = new long[top.size()];
+            for (int i = ordered.length - 1; i >= 0; i--) {
+                ordered[i] = docPostIds[top.poll().getKey()];
+            }
+            List<Long> postIds = new ArrayList<>(ordered.length);
+            for (long postId : ordered) {
+                postIds.add(postId);
+            }
+            return new SearchHits(postIds, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int liveDocuments() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Proporção de documentos apagados ainda presentes nas postings
+    double tombstoneRatio() {
+        lock.readLock().lock();
+        try {
+            return nextDoc == 0 ? 0 : (double) deleted.cardinality() / nextDoc;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long postingBytes() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream().mapToLong(list -> list.size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(long postId) {
+        Integer doc = docByPost.remove(postId);
+        if (doc != null) {
+            deleted.set(doc);
+            liveDocs--;
+            liveLength -= docLengths[doc];
+        }
+    }
+
+    private void ensureCapacity(int doc) {
+        if (doc >= docPostIds.length) {
+            int capacity = docPostIds.length * 2;
+            docPostIds = Arrays.copyOf(docPostIds, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+        }
+    }
+
+    /**
+     * Postings de um termo: pares (delta do documento, frequência) em varint.
+     */
+    static final class PostingList {
+        private byte[] data = new byte[8];
+        private int size;
+        private int lastDoc = -1;
+        private int docFrequency;
+
+        void add(int doc, int tf) {
+            writeVarInt(doc - lastDoc);
+            writeVarInt(tf);
+            lastDoc = doc;
+            docFrequency++;
+        }
+
+        void forEach(PostingConsumer consumer) {
+            int position = 0;
+            int doc = -1;
+            while (position < size) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+
+                int tf = 0;
+                shift = 0;
+                do {
+                    b = data[position++];
+                    tf |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+
+                doc += delta;
+                consumer.accept(doc, tf);
+            }
+        }
+
+        private void writeVarInt(int value) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + 5));
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+    }
+
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(int doc, int tf);
+    }
+
+    /**
+     * Resultado: ids dos posts em ordem de relevância e o total de posts encontrados.
+     */
+    record SearchHits(List<Long> postIds, int total) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.politicabr.blog.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Analisador de texto em português para o índice de busca.
+ *
+ * Minúsculas, remoção de acentos (mesma normalização NFD do SlugUtil), separação em
+ * termos alfanuméricos, remoção de stopwords e stemming leve: plural, alguns sufixos
+ * derivacionais comuns e gênero, nessa ordem ("eleições" -> "eleica", "políticas" -> "politic",
+ * "rapidamente" -> "rapid"). Os radicais não precisam ser palavras: basta que consulta e
+ * documento, que passam pelo mesmo analisador, cheguem ao mesmo termo.
+ */
+public final class PortugueseAnalyzer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    // Stopwords já sem acento (comparadas após a normalização)
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "ao", "aos", "as", "ate", "com", "como", "da", "das", "de", "dela", "delas", "dele", "deles",
+            "depois", "do", "dos", "e", "ela", "elas", "ele", "eles", "em", "entre", "era", "essa", "essas",
+            "esse", "esses", "esta", "estas", "este", "estes", "eu", "foi", "foram", "ha", "isso", "isto", "ja",
+            "lhe", "mais", "mas", "me", "mesmo", "meu", "minha", "muito", "na", "nao", "nas", "nem", "no", "nos",
+            "num", "numa", "o", "os", "ou", "para", "pela", "pelas", "pelo", "pelos", "por", "qual", "quando",
+            "que", "quem", "se", "sem", "ser", "seu", "seus", "so", "sua", "suas", "tambem", "te", "tem", "um",
+            "uma", "umas", "uns", "voce", "voces", "sao", "sobre", "ter", "tinha", "vai"
+    );
+
+    private PortugueseAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        String folded = fold(text);
+        int length = folded.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean letterOrDigit = i < length && Character.isLetterOrDigit(folded.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                addTerm(terms, folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Minúsculas e sem acentos, sem stemming (usado também por estruturas de prefixo).
+     */
+    public static String fold(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        // Atalho: texto ASCII não precisa de normalização
+        boolean ascii = true;
+        for (int i = 0; i < lower.length() && ascii; i++) {
+            ascii = lower.charAt(i) < 128;
+        }
+        if (ascii) {
+            return lower;
+        }
+        return Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    private static void addTerm(List<String> terms, String token) {
+        if (token.length() < MIN_TERM_LENGTH || STOPWORDS.contains(token)) {
+            return;
+        }
+        terms.add(stem(token));
+    }
+
+    static String stem(String term) {
+        if (term.length() <= 3 || !Character.isLetter(term.charAt(term.length() - 1))) {
+            return term;
+        }
+
+        String stem = removePlural(term);
+        stem = removeSuffix(stem);
+        stem = removeGender(stem);
+        return stem;
+    }
+
+    private static String removePlural(String term) {
+        if (!term.endsWith("s") || term.length() <= 3) {
+            return term;
+        }
+        if (term.endsWith("coes") || term.endsWith("soes")) {
+            return term.substring(0, term.length() - 3) + "ao";     // eleicoes -> eleicao (-> eleica no gênero)
+        }
+        if (term.endsWith("oes") || term.endsWith("aes")) {
+            return term.substring(0, term.length() - 3) + "ao";     // orgaos/paes -> orgao/pao (-> orga/pao)
+        }
+        if (term.endsWith("ais") && term.length() > 4) {
+            return term.substring(0, term.length() - 3) + "al";     // federais -> federal
+        }
+        if (term.endsWith("eis") && term.length() > 4) {
+            return term.substring(0, term.length() - 3) + "el";     // papeis -> papel
+        }
+        if (term.endsWith("ns")) {
+            return term.substring(0, term.length() - 2) + "m";      // homens -> homem
+        }
+        if (term.endsWith("res") || term.endsWith("zes")) {
+            return term.substring(0, term.length() - 2);            // eleitores -> eleitor
+        }
+        return term.substring(0, term.length() - 1);
+    }
+
+    private static String removeSuffix(String term) {
+        if (term.length() > 7 && term.endsWith("mente")) {
+            return term.substring(0, term.length() - 5);            // rapidamente -> rapida (-> rapid no gênero)
+        }
+        if (term.length() > 6 && term.endsWith("idade")) {
+            return term.substring(0, term.length() - 5);            // legalidade -> legal
+        }
+        return term;
+    }
+
+    private static String removeGender(String term) {
+        if (term.length() > 4 && (term.endsWith("a") || term.endsWith("o"))) {
+            return term.substring(0, term.length() - 1);            // politica/politico -> politic
+        }
+        return term;
+    }
+}
@@ -0,0 +1,15 @@
+package com.politicabr.blog.search;
+
+import com.politicabr.blog.entity.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Estratégia de busca de posts publicados, selecionada por {@code search.engine}.
+ */
+public interface PostSearchEngine {
+
+    String name();
+
+    Page<Post> search(String query, Pageable pageable);
+}
@@ -0,0 +1,228 @@
+package com.politicabr.blog.search;
+
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.cache.TaxonomyCacheUpdater;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.entity.Tag;
+import com.politicabr.blog.event.EntityChangedEvent;
+import com.politicabr.blog.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Índice de busca em memória dos posts publicados (título, resumo, conteúdo e tags).
+ *
+ * Carregado em segundo plano na inicialização; até lá {@link #isReady()} é falso e a busca
+ * usa o banco. Posts criados, editados, publicados ou despublicados são reindexados após o
+ * commit, inclusive os alterados em outras instâncias. Renomear ou remover uma tag reindexa os
+ * posts que a tinham. Quando os tombstones passam do limite, o índice é reconstruído e trocado.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+public class PostSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchIndex.class);
+
+    // Pesos por campo aplicados à frequência dos termos
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float TAG_WEIGHT = 2.0f;
+    private static final float EXCERPT_WEIGHT = 1.5f;
+    private static final float CONTENT_WEIGHT = 1.0f;
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${search.memory.max-tombstone-ratio:0.25}")
+    private double maxTombstoneRatio;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready;
+
+    // Posts indexados com cada tag. Pode conter associações antigas (só acrescenta até a próxima
+    // reconstrução): reindexar um post a mais não muda o resultado
+    private volatile ConcurrentHashMap<Long, Set<Long>> postsByTag = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    // Posts alterados durante uma reconstrução, reaplicados após a troca
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    // Posts alterados em outras instâncias chegam pelo barramento de invalidação
+    @PostConstruct
+    void registerInvalidation() {
+        cacheInvalidationBus.register(CacheInvalidationBus.POSTS, key -> reindexChanged(Long.valueOf(key)),
+                () -> CompletableFuture.runAsync(this::rebuild));
+        cacheInvalidationBus.register(TaxonomyCacheUpdater.TAG, key -> {
+            if (key.startsWith("id:")) {
+                Long tagId = Long.valueOf(key.substring(3));
+                CompletableFuture.runAsync(() -> reindexTag(tagId));
+            }
+        }, () -> CompletableFuture.runAsync(this::rebuild));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        CompletableFuture.runAsync(this::rebuild);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    InvertedIndex.SearchHits search(String query, int limit) {
+        return index.search(PortugueseAnalyzer.analyze(query), limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(EntityChangedEvent event) {
+        if (event.isAbout(Post.class)) {
+            reindexChanged((Long) event.getEntityId());
+        }
+    }
+
+    // Nome da tag entra nos termos dos posts; a tag removida precisa sair deles
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTagChanged(EntityChangedEvent event) {
+        if (event.isAbout(Tag.class) && event.getEntityId() != null) {
+            Long tagId = (Long) event.getEntityId();
+            CompletableFuture.runAsync(() -> reindexTag(tagId));
+        }
+    }
+
+    private void reindexChanged(Long postId) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(postId);
+        }
+        reindex(List.of(postId));
+    }
+
+    void reindexTag(Long tagId) {
+        Set<Long> tagged = postsByTag.get(tagId);
+        if (tagged == null || tagged.isEmpty()) {
+            return;
+        }
+        List<Long> postIds = List.copyOf(tagged);
+        if (rebuilding.get()) {
+            changedDuringRebuild.addAll(postIds);
+        }
+        for (int from = 0; from < postIds.size(); from += LOAD_BATCH_SIZE) {
+            reindex(postIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, postIds.size())));
+        }
+        logger.debug("Reindexed {} posts of tag {}", postIds.size(), tagId);
+    }
+
+    @Scheduled(fixedDelayString = "${search.memory.compaction-check-interval:300000}")
+    public void compactIfNeeded() {
+        if (ready && index.tombstoneRatio() > maxTombstoneRatio) {
+            logger.info("Search index tombstone ratio above {}, rebuilding", maxTombstoneRatio);
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            InvertedIndex rebuilt = new InvertedIndex();
+            ConcurrentHashMap<Long, Set<Long>> rebuiltPostsByTag = new ConcurrentHashMap<>();
+
+            long afterId = 0;
+            List<Long> ids;
+            do {
+                ids = postRepository.findPublishedIdsAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                if (!ids.isEmpty()) {
+                    for (Post post : postRepository.findAllWithTagsByIdIn(ids)) {
+                        rebuilt.put(post.getId(), termFrequencies(post));
+                        rememberTags(rebuiltPostsByTag, post);
+                    }
+                    afterId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == LOAD_BATCH_SIZE);
+
+            index = rebuilt;
+            postsByTag = rebuiltPostsByTag;
+            ready = true;
+            logger.info("Search index built with {} posts ({} KB of postings) in {} ms",
+                    rebuilt.liveDocuments(), rebuilt.postingBytes() / 1024, System.currentTimeMillis() - start);
+        } catch (RuntimeException ex) {
+            logger.error("Could not build search index", ex);
+        } finally {
+            rebuilding.set(false);
+        }
+
+        if (!changedDuringRebuild.isEmpty()) {
+            List<Long> changed = List.copyOf(changedDuringRebuild);
+            changedDuringRebuild.removeAll(changed);
+            reindex(changed);
+        }
+    }
+
+    private void reindex(List<Long> postIds) {
+        InvertedIndex current = index;
+        Map<Long, Post> published = new HashMap<>();
+        for (Post post : postRepository.findAllWithTagsByIdIn(postIds)) {
+            if (Boolean.TRUE.equals(post.getPublished())) {
+                published.put(post.getId(), post);
+            }
+        }
+
+        // Removidos ou despublicados saem do índice
+        for (Long postId : postIds) {
+            Post post = published.get(postId);
+            if (post == null) {
+                current.remove(postId);
+            } else {
+                current.put(postId, termFrequencies(post));
+                rememberTags(postsByTag, post);
+            }
+        }
+    }
+
+    private static void rememberTags(ConcurrentHashMap<Long, Set<Long>> postsByTag, Post post) {
+        for (Tag tag : post.getTags()) {
+            postsByTag.computeIfAbsent(tag.getId(), id -> ConcurrentHashMap.newKeySet()).add(post.getId());
+        }
+    }
+
+    static Map<String, Float> termFrequencies(Post post) {
+        Map<String, Float> frequencies = new HashMap<>();
+        addField(frequencies, post.getTitle(), TITLE_WEIGHT);
+        addField(frequencies, post.getExcerpt(), EXCERPT_WEIGHT);
+        addField(frequencies, post.getContent(), CONTENT_WEIGHT);
+        for (Tag tag : post.getTags()) {
+            addField(frequencies, tag.getName(), TAG_WEIGHT);
+        }
+        return frequencies;
+    }
+
+    private static void addField(Map<String, Float> frequencies, String text, float weight) {
+        for (String term : PortugueseAnalyzer.analyze(text)) {
+            frequencies.merge(term, weight, Float::sum);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.politicabr.blog.search;
+
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.cache.TaxonomyCacheUpdater;
+import com.politicabr.blog.dto.SuggestionDTO;
+import com.politicabr.blog.entity.Category;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.entity.Tag;
+import com.politicabr.blog.entity.User;
+import com.politicabr.blog.event.EntityChangedEvent;
+import com.politicabr.blog.repository.CategoryRepository;
+import com.politicabr.blog.repository.PostRepository;
+import com.politicabr.blog.repository.TagRepository;
+import com.politicabr.blog.repository.UserRepository;
+import com.politicabr.blog.security.UserStatusCache;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Índice de autocompletar sobre nomes de tags, categorias, autores e títulos de posts.
+ *
+ * As consultas leem um {@link SuggestTrie} imutável, sem bloqueio. Alterações nessas
+ * entidades marcam o índice como desatualizado; uma tarefa agendada reconstrói o trie
+ * e troca a referência, agrupando rajadas de alterações numa única reconstrução.
+ */
+@Component
+public class SuggestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestIndex.class);
+
+    // Bônus por tipo: termos de navegação aparecem antes de títulos com popularidade parecida
+    private static final double CATEGORY_BOOST = 3.0;
+    private static final double TAG_BOOST = 2.0;
+    private static final double AUTHOR_BOOST = 1.5;
+    private static final double POST_BOOST = 0.0;
+
+    // Consultas curtas demais geram erros de digitação ambíguos
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final int TWO_EDITS_LENGTH = 6;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${suggest.max-posts:20000}")
+    private int maxPosts;
+
+    @Value("${suggest.top-k:10}")
+    private int topK;
+
+    private volatile SuggestTrie trie = SuggestTrie.build(List.of(), 1);
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    // Alterações em outras instâncias também marcam o índice como desatualizado
+    @PostConstruct
+    void registerInvalidation() {
+        for (String target : List.of(CacheInvalidationBus.POSTS, TaxonomyCacheUpdater.TAGS,
+                TaxonomyCacheUpdater.CATEGORIES, UserStatusCache.CACHE_NAME)) {
+            cacheInvalidationBus.register(target, key -> dirty.set(true), () -> dirty.set(true));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        CompletableFuture.runAsync(this::rebuild);
+    }
+
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int length = query.strip().length();
+        int maxEdits = length < MIN_FUZZY_LENGTH ? 0 : length < TWO_EDITS_LENGTH ? 1 : 2;
+        return trie.suggest(query, Math.min(limit, topK), maxEdits).stream()
+                .map(s -> new SuggestionDTO(s.type(), s.id(), s.label(), s.slug()))
+                .toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(Tag.class) || event.isAbout(Category.class)
+                || event.isAbout(User.class) || event.isAbout(Post.class)) {
+            dirty.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${suggest.rebuild-delay:5000}")
+    public void rebuildIfDirty() {
+        if (dirty.compareAndSet(true, false)) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            // Outra reconstrução em andamento; a próxima execução agendada pega as alterações
+            dirty.set(true);
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            SuggestTrie rebuilt = SuggestTrie.build(loadSuggestions(), topK);
+            trie = rebuilt;
+            logger.info("Suggest index built with {} entries in {} ms",
+                    rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException ex) {
+            dirty.set(true);
+            logger.error("Could not build suggest index", ex);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private List<SuggestTrie.Suggestion> loadSuggestions() {
+        List<SuggestTrie.Suggestion> suggestions = new ArrayList<>();
+
+        for (Object[] row : tagRepository.findAllWithPostCount()) {
+            Tag tag = (Tag) row[0];
+            suggestions.add(new SuggestTrie.Suggestion("TAG", tag.getId(), tag.getName(), tag.getSlug(),
+                    score((Long) row[1], TAG_BOOST)));
+        }
+
+        for (Object[] row : categoryRepository.findActiveCategoriesWithPostCount()) {
+            Category category = (Category) row[0];
+            suggestions.add(new SuggestTrie.Suggestion("CATEGORY", category.getId(), category.getName(),
+                    category.getSlug(), score((Long) row[1], CATEGORY_BOOST)));
+        }
+
+        for (Object[] row : userRepository.findMostActiveAuthors()) {
+            User author = (User) row[0];
+            suggestions.add(new SuggestTrie.Suggestion("AUTHOR", author.getId(), author.getFullName(),
+                    author.getUsername(), score((Long) row[1], AUTHOR_BOOST)));
+        }
+
+        for (Object[] row : postRepository.findSuggestableTitles(Limit.of(maxPosts))) {
+            suggestions.add(new SuggestTrie.Suggestion("POST", (Long) row[0], (String) row[1], (String) row[2],
+                    score((Long) row[3], POST_BOOST)));
+        }
+        return suggestions;
+    }
+
+    // Popularidade em escala logarítmica, para que contagens de posts e visualizações sejam comparáveis
+    private static double score(Long popularity, double boost) {
+        return Math.log1p(popularity == null ? 0 : popularity) + boost;
+    }
+}
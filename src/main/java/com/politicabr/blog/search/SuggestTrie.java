@@ -0,0 +1,220 @@
+package com.politicabr.blog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Trie imutável para autocompletar, sem acentos e com os melhores resultados pré-calculados.
+ *
+ * Cada rótulo é inserido a partir do início de cada palavra ("Reforma tributária" responde
+ * por "ref" e por "trib"). Cada nó guarda os {@code topK} melhores itens da sua subárvore,
+ * então completar um prefixo exato é só percorrer os caracteres da consulta. Para erros de
+ * digitação, uma busca com distância de Levenshtein limitada percorre a trie podando ramos
+ * cuja distância mínima já excede o limite.
+ */
+final class SuggestTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    // Limites de inserção: mantêm o número de nós proporcional ao número de itens
+    private static final int MAX_WORD_STARTS = 6;
+    private static final int MAX_KEY_LENGTH = 24;
+
+    private final List<Suggestion> suggestions;
+    private final Node root;
+
+    private SuggestTrie(List<Suggestion> suggestions, Node root) {
+        this.suggestions = suggestions;
+        this.root = root;
+    }
+
+    static SuggestTrie build(List<Suggestion> items, int topK) {
+        // Índice na lista = posição no ranking: os top-K de cada nó ficam ordenados ao inserir
+        List<Suggestion> ranked = new ArrayList<>(items);
+        ranked.sort(Comparator.comparingDouble(Suggestion::score).reversed());
+
+        Builder root = new Builder();
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            String key = normalize(ranked.get(rank).label());
+            int starts = 0;
+            for (int i = 0; i < key.length() && starts < MAX_WORD_STARTS; i++) {
+                if (i == 0 || key.charAt(i - 1) == ' ') {
+                    root.insert(key, i, Math.min(key.length(), i + MAX_KEY_LENGTH), rank, topK);
+                    starts++;
+                }
+            }
+        }
+        return new SuggestTrie(List.copyOf(ranked), root.freeze());
+    }
+
+    int size() {
+        return suggestions.size();
+    }
+
+    /**
+     * Completa o prefixo exato e, se faltarem resultados, tolera até {@code maxEdits} erros.
+     */
+    List<Suggestion> suggest(String query, int limit, int maxEdits) {
+        String key = normalize(query);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> matches = new LinkedHashMap<>();
+        Node node = find(key);
+        if (node != null) {
+            for (int rank : node.top) {
+                matches.putIfAbsent(rank, 0);
+            }
+        }
+
+        if (matches.size() < limit && maxEdits > 0) {
+            Map<Integer, Integer> fuzzy = new HashMap<>();
+            int[] firstRow = new int[key.length() + 1];
+            for (int i = 0; i < firstRow.length; i++) {
+                firstRow[i] = i;
+            }
+            for (int i = 0; i < root.keys.length; i++) {
+                collectFuzzy(root.children[i], root.keys[i], key, firstRow, maxEdits, fuzzy);
+            }
+            // Menor distância primeiro; no empate, melhor posição no ranking
+            fuzzy.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entry -> matches.putIfAbsent(entry.getKey(), entry.getValue()));
+        }
+
+        return matches.keySet().stream()
+                .limit(limit)
+                .map(suggestions::get)
+                .toList();
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static void collectFuzzy(Node node, char c, String key, int[] previousRow, int maxEdits,
+                                     Map<Integer, Integer> matches) {
+        int columns = key.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < columns; i++) {
+            int substitution = previousRow[i - 1] + (key.charAt(i - 1) == c ? 0 : 1);
+            row[i] = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), substitution);
+            rowMin = Math.min(rowMin, row[i]);
+        }
+
+        int distance = row[columns - 1];
+        if (distance <= maxEdits) {
+            // O prefixo inteiro casou: os top-K do nó já cobrem a subárvore
+            for (int rank : node.top) {
+                matches.merge(rank, distance, Math::min);
+            }
+            return;
+        }
+        if (rowMin > maxEdits) {
+            return;
+        }
+        for (int i = 0; i < node.keys.length; i++) {
+            collectFuzzy(node.children[i], node.keys[i], key, row, maxEdits, matches);
+        }
+    }
+
+    // Minúsculas, sem acentos, apenas letras/dígitos separados por um espaço
+    static String normalize(String text) {
+        String folded = PortugueseAnalyzer.fold(text);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean space = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Item sugerível: tipo (TAG, CATEGORY, POST, AUTHOR), id, rótulo exibido, slug e pontuação.
+     */
+    record Suggestion(String type, Long id, String label, String slug, double score) {
+    }
+
+    private static final class Node {
+        private final char[] keys;
+        private final Node[] children;
+        private final int[] top;
+
+        private Node(char[] keys, Node[] children, int[] top) {
+            this.keys = keys;
+            this.children = children;
+            this.top = top;
+        }
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    // Nó mutável usado apenas na construção
+    private static final class Builder {
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private int[] top = new int[0];
+
+        void insert(String key, int from, int to, int rank, int topK) {
+            Builder node = this;
+            for (int i = from; i < to; i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Builder());
+                node.offer(rank, topK);
+            }
+        }
+
+        private void offer(int rank, int topK) {
+            // Inserções chegam em ordem de ranking; o mesmo item pode chegar por duas palavras
+            if (top.length >= topK || (top.length > 0 && top[top.length - 1] == rank)) {
+                return;
+            }
+            for (int existing : top) {
+                if (existing == rank) {
+                    return;
+                }
+            }
+            top = Arrays.copyOf(top, top.length + 1);
+            top[top.length - 1] = rank;
+        }
+
+        Node freeze() {
+            if (children.isEmpty()) {
+                return new Node(NO_KEYS, NO_CHILDREN, top);
+            }
+            char[] keys = new char[children.size()];
+            Node[] frozen = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                frozen[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node(keys, frozen, top);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,6 +31,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    // Quando ativo, o principal vem das claims do token em vez de uma consulta a users por requisição
+    @Value("${security.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -38,10 +49,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
+            VerifiedToken verified = StringUtils.hasText(jwt)
+                    ? tokenProvider.resolveToken(jwt).orElse(null)
+                    : null;
+
+            // Tokens revogados no logout (verificação em memória)
+            if (verified != null && revocationService.isRevoked(verified.getTokenId())) {
+                verified = null;
+            }
+
+            UserDetails userDetails = null;
+            if (verified != null) {
+                userDetails = statelessPrincipal
+                        ? principalFromClaims(verified)
+                        : userDetailsService.loadUserByUsername(verified.getEmail());
+            }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -59,6 +83,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails principalFromClaims(VerifiedToken verified) {
+        // Refresh tokens e tokens sem claims de acesso não autenticam requisições
+        if (verified.getUserId() == null || verified.getRole() == null) {
+            return null;
+        }
+
+        UserStatus status = userStatusCache.get(verified.getUserId()).orElse(null);
+        if (status == null || !status.isActive()) {
+            return null;
+        }
+
+        // Role alterada desde a emissão: o token deixa de valer até ser renovado
+        if (status.getRole() == null || !status.getRole().name().equals(verified.getRole())) {
+            return null;
+        }
+
+        return new JwtUserPrincipal(verified.getUserId(), verified.getEmail(), verified.getUsername(), verified.getRole());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
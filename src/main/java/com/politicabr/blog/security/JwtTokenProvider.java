@@ -3,6 +3,8 @@ package com.politicabr.blog.security;
 import com.politicabr.blog.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +15,8 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
@@ -28,80 +32,101 @@ public class JwtTokenProvider {
     @Value("${security.jwt.refresh-expiration}")
     private long jwtRefreshExpiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${security.jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    // Chave e parser são imutáveis e thread-safe: criados uma única vez
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private VerifiedTokenCache verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = new VerifiedTokenCache(verifiedCacheMaxSize);
     }
 
     public String generateToken(User user) {
+        return generateToken(user, null);
+    }
+
+    /**
+     * Access token ligado a uma família de refresh tokens (claim fam), para que o logout feito
+     * só com o access token consiga revogar a sessão inteira.
+     */
+    public String generateToken(User user, String familyId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
+        String tokenId = UUID.randomUUID().toString();
 
-        return Jwts.builder()
-                .setSubject(user.getEmail())
+        String token = Jwts.builder()
+                .id(tokenId)
+                .subject(user.getEmail())
                 .claim("userId", user.getId())
                 .claim("role", user.getRole().name())
                 .claim("username", user.getUsername())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .claim("fam", familyId)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
+
+        // Token recém-assinado já é confiável: evita o parse em getExpirationDate e na primeira requisição
+        remember(token, new VerifiedToken(tokenId, user.getEmail(), user.getId(), user.getRole().name(),
+                user.getUsername(), null, familyId, now.toInstant(), expiryDate.toInstant()));
+        return token;
     }
 
-    public String generateRefreshToken(User user) {
+    public String generateRefreshToken(User user, String familyId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtRefreshExpiration);
+        String tokenId = UUID.randomUUID().toString();
 
-        return Jwts.builder()
-                .setSubject(user.getEmail())
+        String token = Jwts.builder()
+                .id(tokenId)
+                .subject(user.getEmail())
                 .claim("userId", user.getId())
                 .claim("type", "refresh")
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .claim("fam", familyId)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
-    }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+        remember(token, new VerifiedToken(tokenId, user.getEmail(), user.getId(), null,
+                null, "refresh", familyId, now.toInstant(), expiryDate.toInstant()));
+        return token;
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifica o token uma única vez (assinatura + expiração), consultando antes o cache
+     * de tokens já verificados. Lança {@link JwtException} se o token for inválido.
+     */
+    public VerifiedToken verifyToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT String cannot be null or empty");
+        }
 
-        return claims.get("userId", Long.class);
-    }
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token, now);
+        if (cached != null) {
+            return cached;
+        }
 
-    public LocalDateTime getExpirationDate(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getExpiration()
-                .toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalDateTime();
+        VerifiedToken verified = parse(token);
+        verifiedTokens.put(token, verified, now);
+        return verified;
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Variante de {@link #verifyToken(String)} que registra o motivo da falha e devolve vazio.
+     */
+    public Optional<VerifiedToken> resolveToken(String token) {
         try {
-            Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return Optional.of(verifyToken(token));
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -112,7 +137,41 @@ public class JwtTokenProvider {
             logger.error("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty");
+        } catch (JwtException ex) {
+            logger.error("Invalid JWT token: {}", ex.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public void invalidate(String token) {
+        verifiedTokens.invalidate(token);
+    }
+
+    public String getEmailFromToken(String token) {
+        return verifyToken(token).getEmail();
+    }
+
+    public Long getUserIdFromToken(String token) {
+        return verifyToken(token).getUserId();
+    }
+
+    public LocalDateTime getExpirationDate(String token) {
+        return verifyToken(token).getExpiresAt()
+                .atZone(ZoneId.systemDefault())
+                .toLocalDateTime();
+    }
+
+    public boolean validateToken(String token) {
+        return resolveToken(token).isPresent();
+    }
+
+    // Parse sem cache; visível no pacote para o benchmark
+    VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return VerifiedToken.from(claims);
+    }
+
+    private void remember(String token, VerifiedToken verified) {
+        verifiedTokens.put(token, verified, System.currentTimeMillis());
     }
 }
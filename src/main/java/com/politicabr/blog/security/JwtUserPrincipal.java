@@ -0,0 +1,59 @@
+package com.politicabr.blog.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal montado diretamente das claims de um JWT verificado, sem consulta à tabela {@code users}.
+ */
+public class JwtUserPrincipal implements UserDetails {
+
+    private final Long userId;
+    private final String email;
+    private final String username;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public JwtUserPrincipal(Long userId, String email, String username, String role) {
+        this.userId = userId;
+        this.email = email;
+        this.username = username;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getDisplayName() {
+        return username;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    // Mantém o mesmo "username" do UserDetails carregado do banco (o email)
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "JwtUserPrincipal{" + "userId=" + userId + ", email='" + email + '\'' + ", authorities=" + authorities + '}';
+    }
+}
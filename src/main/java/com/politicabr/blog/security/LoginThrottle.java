@@ -0,0 +1,117 @@
+package com.politicabr.blog.security;
+
+import com.politicabr.blog.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de tentativas de login por IP e por email.
+ *
+ * O bucket por IP é verificado no filtro, antes de qualquer trabalho; o bucket por email
+ * é verificado no AuthService antes da busca do usuário e do hashing da senha.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottle.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.login-throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${security.login-throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${security.login-throttle.ip.refill-interval:3s}")
+    private Duration ipRefillInterval;
+
+    @Value("${security.login-throttle.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${security.login-throttle.email.refill-interval:60s}")
+    private Duration emailRefillInterval;
+
+    @Value("${security.login-throttle.max-keys:1000000}")
+    private int maxKeys;
+
+    private TokenBucketLimiter ipBuckets;
+    private TokenBucketLimiter emailBuckets;
+    private Counter ipRejections;
+    private Counter emailRejections;
+
+    @PostConstruct
+    void init() {
+        this.ipBuckets = new TokenBucketLimiter(ipCapacity, ipRefillInterval.toNanos(), maxKeys);
+        this.emailBuckets = new TokenBucketLimiter(emailCapacity, emailRefillInterval.toNanos(), maxKeys);
+
+        this.ipRejections = Counter.builder("auth.login.throttled")
+                .tag("key", "ip")
+                .description("Tentativas de login rejeitadas pelo limite")
+                .register(meterRegistry);
+        this.emailRejections = Counter.builder("auth.login.throttled")
+                .tag("key", "email")
+                .description("Tentativas de login rejeitadas pelo limite")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.keys", ipBuckets, TokenBucketLimiter::size)
+                .tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.keys", emailBuckets, TokenBucketLimiter::size)
+                .tag("key", "email")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devolve 0 se a tentativa é permitida, ou os segundos até a próxima tentativa.
+     */
+    public long tryAcquireForIp(String ip) {
+        if (!enabled) {
+            return 0;
+        }
+        long wait = ipBuckets.tryAcquire(ip, System.nanoTime());
+        if (wait > 0) {
+            ipRejections.increment();
+            return toRetryAfterSeconds(wait);
+        }
+        return 0;
+    }
+
+    public void checkEmail(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        long wait = emailBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT), System.nanoTime());
+        if (wait > 0) {
+            emailRejections.increment();
+            throw new TooManyRequestsException("Muitas tentativas de login. Tente novamente mais tarde.",
+                    toRetryAfterSeconds(wait));
+        }
+    }
+
+    // Buckets cheios não guardam estado: descartá-los limita a memória a chaves ativas
+    @Scheduled(fixedDelayString = "${security.login-throttle.sweep-interval:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int evicted = ipBuckets.evictIdle(now) + emailBuckets.evictIdle(now);
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle login throttle buckets", evicted);
+        }
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,71 @@
+package com.politicabr.blog.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rejeita com 429 tentativas de login acima do limite por IP, antes de ler o corpo,
+ * consultar o banco ou calcular hash de senha.
+ *
+ * O IP vem de {@code getRemoteAddr()}; atrás de proxy, configure
+ * {@code server.forward-headers-strategy} para que ele reflita o cliente real.
+ */
+@Component
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleFilter.class);
+
+    private static final String LOGIN_PATH = "/api/v1/auth/login";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !LOGIN_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long retryAfter = loginThrottle.tryAcquireForIp(request.getRemoteAddr());
+        if (retryAfter > 0) {
+            logger.warn("Login throttled for {}", request.getRemoteAddr());
+
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+            body.put("message", "Muitas tentativas de login. Tente novamente mais tarde.");
+            body.put("path", request.getServletPath());
+            body.put("timestamp", LocalDateTime.now().toString());
+            MAPPER.writeValue(response.getOutputStream(), body);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
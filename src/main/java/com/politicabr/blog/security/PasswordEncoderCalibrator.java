@@ -0,0 +1,54 @@
+package com.politicabr.blog.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escolhe o custo do BCrypt medindo o hashing no hardware em execução.
+ *
+ * Cada incremento de custo dobra o tempo; o maior custo cuja mediana fica dentro do
+ * orçamento configurado é o alvo de novos hashes (e de re-hash no login).
+ */
+public final class PasswordEncoderCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderCalibrator.class);
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-Password#2024";
+
+    private PasswordEncoderCalibrator() {
+    }
+
+    public static int calibrateBcryptCost(Duration budget, int minCost, int maxCost) {
+        int chosen = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            long medianNanos = medianEncodeNanos(new BCryptPasswordEncoder(cost));
+            logger.info("BCrypt cost {} takes {} ms", cost, TimeUnit.NANOSECONDS.toMillis(medianNanos));
+            if (medianNanos > budget.toNanos()) {
+                break;
+            }
+            chosen = cost;
+        }
+        logger.info("Using BCrypt cost {} for a hashing budget of {} ms", chosen, budget.toMillis());
+        return chosen;
+    }
+
+    private static long medianEncodeNanos(BCryptPasswordEncoder encoder) {
+        // Primeira execução descartada (aquecimento do JIT)
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
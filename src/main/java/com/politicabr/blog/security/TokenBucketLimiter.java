@@ -0,0 +1,84 @@
+package com.politicabr.blog.security;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets por chave sem locks (GCRA).
+ *
+ * O estado de cada bucket é um único long, o instante teórico de chegada (TAT): o bucket
+ * está cheio quando TAT <= agora e cada ficha consumida avança TAT em um intervalo de
+ * reposição. Consumir é um compareAndSet; um bucket cheio não guarda informação e pode
+ * ser descartado, o que mantém o mapa limitado às chaves com atividade recente.
+ */
+class TokenBucketLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+    private final long refillIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+
+    TokenBucketLimiter(int capacity, long refillIntervalNanos, int maxKeys) {
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.burstToleranceNanos = refillIntervalNanos * Math.max(0, capacity - 1);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Consome uma ficha. Devolve 0 se permitido, ou os nanossegundos até a próxima ficha.
+     */
+    long tryAcquire(String key, long nowNanos) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxKeys) {
+                evict(nowNanos);
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, nowNanos);
+            long wait = base - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, base + refillIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Remove buckets que já voltaram a ficar cheios
+    int evictIdle(long nowNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> tat.get() - nowNanos <= 0);
+        return before - buckets.size();
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evict(long nowNanos) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            evictIdle(nowNanos);
+
+            // Ainda no limite (muitas chaves ativas): descartar um lote arbitrário
+            int target = maxKeys - Math.max(1, maxKeys / 10);
+            Iterator<String> iterator = buckets.keySet().iterator();
+            while (buckets.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.politicabr.blog.security;
+
+import com.politicabr.blog.entity.RevokedToken;
+import com.politicabr.blog.repository.RevokedTokenRepository;
+import com.politicabr.blog.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revogação de tokens por jti.
+ *
+ * O caminho comum (token não revogado) é resolvido em memória: um filtro de Bloom descarta
+ * quase todos os jti sem revogação e o conjunto exato (jti -> expiração) confirma os positivos.
+ * A tabela {@code revoked_tokens} garante persistência entre reinícios e propaga revogações
+ * feitas por outros nós na sincronização periódica.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Sobreposição aplicada à janela de sincronização para tolerar diferença de relógio entre nós
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${security.jwt.revocation.expected-entries:100000}")
+    private long expectedEntries;
+
+    @Value("${security.jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter prefilter;
+    private volatile LocalDateTime lastSync;
+
+    @PostConstruct
+    void load() {
+        LocalDateTime now = LocalDateTime.now();
+        prefilter = newFilter(0);
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            remember(token.getJti(), token.getExpiresAt());
+        }
+        lastSync = now;
+        logger.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt.toEpochMilli() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault());
+        if (!revokedTokenRepository.existsById(jti)) {
+            revokedTokenRepository.save(new RevokedToken(jti, expiry));
+        }
+        remember(jti, expiry);
+    }
+
+    /**
+     * Verificação O(1) sem acesso ao banco.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !prefilter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    // Traz revogações feitas em outros nós
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.sync-interval:15000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> recent = revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                lastSync.minusSeconds(SYNC_OVERLAP_SECONDS), now);
+        for (RevokedToken token : recent) {
+            remember(token.getJti(), token.getExpiresAt());
+        }
+        lastSync = now;
+    }
+
+    // Remove revogações expiradas e reconstrói o filtro (filtros de Bloom não suportam remoção)
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.purge-interval:600000}")
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        BloomFilter rebuilt = newFilter(revoked.size());
+        revoked.keySet().forEach(rebuilt::put);
+        prefilter = rebuilt;
+
+        // Revogações feitas durante a reconstrução
+        revoked.keySet().forEach(rebuilt::put);
+
+        if (deleted > 0) {
+            logger.debug("Purged {} expired revoked tokens", deleted);
+        }
+    }
+
+    private void remember(String jti, LocalDateTime expiresAt) {
+        long expiry = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        revoked.put(jti, expiry);
+        prefilter.put(jti);
+    }
+
+    private BloomFilter newFilter(long currentEntries) {
+        return new BloomFilter(Math.max(expectedEntries, currentEntries * 2), falsePositiveRate);
+    }
+}
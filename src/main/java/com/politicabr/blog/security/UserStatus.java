@@ -0,0 +1,31 @@
+package com.politicabr.blog.security;
+
+import com.politicabr.blog.entity.enums.UserRole;
+
+/**
+ * Projeção mínima de {@code users} usada para validar principals montados a partir do JWT.
+ */
+public class UserStatus {
+
+    private final Long userId;
+    private final boolean active;
+    private final UserRole role;
+
+    public UserStatus(Long userId, Boolean active, UserRole role) {
+        this.userId = userId;
+        this.active = Boolean.TRUE.equals(active);
+        this.role = role;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+}
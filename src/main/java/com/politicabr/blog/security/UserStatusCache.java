@@ -0,0 +1,75 @@
+package com.politicabr.blog.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.entity.User;
+import com.politicabr.blog.event.EntityChangedEvent;
+import com.politicabr.blog.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache em memória do status (ativo/role) de cada usuário, limitado por tamanho (LRU aproximado
+ * do Caffeine). Alterações em {@link User} invalidam a entrada após o commit; o TTL limita
+ * o tempo máximo em que uma mudança feita fora da JPA pode passar despercebida.
+ * Alterações feitas em outras instâncias chegam pelo {@link CacheInvalidationBus}.
+ */
+@Component
+public class UserStatusCache {
+
+    public static final String CACHE_NAME = "userStatus";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${security.jwt.user-status-cache.ttl:60s}")
+    private Duration ttl;
+
+    @Value("${security.jwt.user-status-cache.max-size:50000}")
+    private int maxSize;
+
+    // Usuário inexistente também é guardado (Optional vazio) para não repetir a consulta
+    private LoadingCache<Long, Optional<UserStatus>> entries;
+
+    @PostConstruct
+    void registerInvalidation() {
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(userRepository::findStatusById);
+        cacheInvalidationBus.register(CACHE_NAME, key -> invalidate(Long.valueOf(key)), this::invalidateAll);
+    }
+
+    /**
+     * Devolve o status atual do usuário, ou vazio se ele não existir mais.
+     */
+    public Optional<UserStatus> get(Long userId) {
+        return entries.get(userId);
+    }
+
+    public void invalidate(Long userId) {
+        entries.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(User.class) && event.getEntityId() != null) {
+            invalidate((Long) event.getEntityId());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.politicabr.blog.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Resultado imutável de um JWT já verificado (assinatura + expiração).
+ * Evita que o mesmo token seja parseado mais de uma vez por requisição.
+ */
+public final class VerifiedToken {
+
+    private final String tokenId;
+    private final String email;
+    private final Long userId;
+    private final String role;
+    private final String username;
+    private final String type;
+    private final String familyId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    VerifiedToken(String tokenId, String email, Long userId, String role, String username, String type,
+                  String familyId, Instant issuedAt, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.email = email;
+        this.userId = userId;
+        this.role = role;
+        this.username = username;
+        this.type = type;
+        this.familyId = familyId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("role", String.class),
+                claims.get("username", String.class),
+                claims.get("type", String.class),
+                claims.get("fam", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAt.toEpochMilli() <= nowMillis;
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+
+    // Claim jti; nulo em tokens emitidos antes da revogação existir
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    // Família de rotação (apenas refresh tokens)
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
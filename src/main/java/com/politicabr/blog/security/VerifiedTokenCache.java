@@ -0,0 +1,70 @@
+package com.politicabr.blog.security;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache limitado de tokens já verificados, indexado pelo próprio token compactado.
+ * Entradas expiradas nunca são devolvidas; quando o limite é atingido, as expiradas
+ * são removidas primeiro e, se necessário, um lote arbitrário de entradas vivas.
+ */
+class VerifiedTokenCache {
+
+    private final ConcurrentHashMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+    private final int maxSize;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    VerifiedToken get(String token, long nowMillis) {
+        VerifiedToken verified = entries.get(token);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.isExpired(nowMillis)) {
+            entries.remove(token, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    void put(String token, VerifiedToken verified, long nowMillis) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(nowMillis);
+        }
+        entries.put(token, verified);
+    }
+
+    void invalidate(String token) {
+        entries.remove(token);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long nowMillis) {
+        // Apenas uma thread faz a limpeza; as demais seguem e o limite pode ser excedido brevemente
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            entries.values().removeIf(verified -> verified.isExpired(nowMillis));
+
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<String> iterator = entries.keySet().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -11,13 +11,13 @@ import com.politicabr.blog.exception.ResourceNotFoundException;
 import com.politicabr.blog.mapper.UserMapper;
 import com.politicabr.blog.repository.UserRepository;
 import com.politicabr.blog.security.JwtTokenProvider;
+import com.politicabr.blog.security.LoginThrottle;
+import com.politicabr.blog.security.PasswordHashingExecutor;
+import com.politicabr.blog.security.TokenRevocationService;
+import com.politicabr.blog.security.VerifiedToken;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -27,13 +27,19 @@ import java.time.LocalDateTime;
 public class AuthService {
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private UserRepository userRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
 
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
@@ -41,56 +47,60 @@ public class AuthService {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    /**
+     * Login fora de transação: a busca do usuário e a verificação da senha (que pode aguardar a
+     * fila do PasswordHashingExecutor) não seguram conexão do pool. Só as gravações abrem
+     * transações curtas próprias: o refresh token no RefreshTokenService e o re-hash no repositório.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponseDTO authenticate(LoginRequestDTO request) {
-        try {
-            // Buscar usuário
-            User user = userRepository.findByEmail(request.getEmail())
-                    .orElseThrow(() -> new AuthenticationException("Email ou senha incorretos"));
-
-            System.out.println("Usuário encontrado: " + user.getEmail());
-            System.out.println("Senha armazenada: " + user.getPassword());
-            System.out.println("Senha recebida: " + request.getPassword());
-            System.out.println("Senha bate: " + passwordEncoder.matches(request.getPassword(), user.getPassword()));
-
-            // Verificar se está ativo
-            if (!user.getActive()) {
-                throw new AuthenticationException("Conta desativada. Entre em contato com o administrador.");
-            }
+        // Limite por email antes de qualquer consulta ou hashing
+        loginThrottle.checkEmail(request.getEmail());
 
-            // Debug: Verificar se a senha fornecida coincide com a armazenada
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-                System.out.println("As senhas não coincidem!");
-                throw new AuthenticationException("Email ou senha incorretos");
-            }
+        // Buscar usuário
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
 
-            // Autenticar
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            request.getPassword()
-                    )
-            );
+        // Verificar a senha uma única vez; email inexistente paga o mesmo custo de hashing
+        if (user == null) {
+            passwordHashingExecutor.matchDummy(request.getPassword());
+            throw new AuthenticationException("Email ou senha incorretos");
+        }
+        if (!passwordHashingExecutor.matches(request.getPassword(), user.getPassword())) {
+            throw new AuthenticationException("Email ou senha incorretos");
+        }
 
-            System.out.println("Autenticação bem-sucedida para: " + user.getEmail());
+        // Verificar se está ativo
+        if (!user.getActive()) {
+            throw new AuthenticationException("Conta desativada. Entre em contato com o administrador.");
+        }
 
-            // Gerar tokens
-            String token = jwtTokenProvider.generateToken(user);
-            String refreshToken = jwtTokenProvider.generateRefreshToken(user);
-            LocalDateTime expiresAt = jwtTokenProvider.getExpirationDate(token);
+        // Gerar tokens
+        String refreshToken = refreshTokenService.issue(user);
+        String token = jwtTokenProvider.generateToken(user, familyOf(refreshToken));
+        LocalDateTime expiresAt = jwtTokenProvider.getExpirationDate(token);
 
-            System.out.println("Token: " + token);
+        // Hash com algoritmo ou custo antigo: refazer com os parâmetros atuais, só depois que o
+        // login foi concluído (o UPDATE condicional ignora o re-hash se a senha mudou nesse meio tempo)
+        if (passwordHashingExecutor.upgradeEncoding(user.getPassword())) {
+            String currentHash = user.getPassword();
+            Long userId = user.getId();
+            passwordHashingExecutor.encodeInBackground(request.getPassword(),
+                    newHash -> userRepository.updatePasswordHash(userId, currentHash, newHash));
+        }
 
-            // Atualizar último login
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
+        // Registrar último login (gravado em lote, fora da transação do login)
+        lastLoginRecorder.record(user.getId(), LocalDateTime.now());
 
-            // Mapear usuário para DTO
-            UserDTO userDTO = userMapper.toDTO(user);
+        // Mapear usuário para DTO
+        UserDTO userDTO = userMapper.toDTO(user);
 
-            return new LoginResponseDTO(token, refreshToken, expiresAt, userDTO);
-        } catch (BadCredentialsException e) {
-            throw new AuthenticationException("Email ou senha incorretos");
-        }
+        return new LoginResponseDTO(token, refreshToken, expiresAt, userDTO);
     }
 
     public LoginResponseDTO register(RegisterRequestDTO request) {
@@ -108,7 +118,7 @@ public class AuthService {
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingExecutor.encode(request.getPassword()));
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setRole(UserRole.READER); // Usuário começam como leitores
@@ -117,9 +127,12 @@ public class AuthService {
 
         User savedUser = userRepository.save(user);
 
+        // Email de boas-vindas enviado após o commit pelo MailDispatcher
+        mailOutboxService.enqueueWelcome(savedUser);
+
         // Gerar tokens
-        String token = jwtTokenProvider.generateToken(savedUser);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(savedUser);
+        String refreshToken = refreshTokenService.issue(savedUser);
+        String token = jwtTokenProvider.generateToken(savedUser, familyOf(refreshToken));
         LocalDateTime expiresAt = jwtTokenProvider.getExpirationDate(token);
 
         UserDTO userDTO = userMapper.toDTO(savedUser);
@@ -128,13 +141,14 @@ public class AuthService {
     }
 
     public LoginResponseDTO refreshToken(String refreshToken) {
-        // Validar refresh token
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            throw new AuthenticationException("Refresh token inválido ou expirado");
-        }
+        // Validar refresh token (um único parse)
+        VerifiedToken verified = jwtTokenProvider.resolveToken(refreshToken)
+                .filter(VerifiedToken::isRefreshToken)
+                .filter(token -> !revocationService.isRevoked(token.getTokenId()))
+                .orElseThrow(() -> new AuthenticationException("Refresh token inválido ou expirado"));
 
         // Obter email do token
-        String email = jwtTokenProvider.getEmailFromToken(refreshToken);
+        String email = verified.getEmail();
 
         // Buscar usuário
         User user = userRepository.findByEmail(email)
@@ -145,9 +159,9 @@ public class AuthService {
             throw new AuthenticationException("Conta desativada");
         }
 
-        // Gerar novos tokens
-        String newToken = jwtTokenProvider.generateToken(user);
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(user);
+        // Rotacionar o refresh token (reuso de um token antigo revoga a família) e gerar novo access token
+        String newRefreshToken = refreshTokenService.rotate(verified, user);
+        String newToken = jwtTokenProvider.generateToken(user, verified.getFamilyId());
         LocalDateTime expiresAt = jwtTokenProvider.getExpirationDate(newToken);
 
         UserDTO userDTO = userMapper.toDTO(user);
@@ -156,12 +170,26 @@ public class AuthService {
     }
 
     public void logout(String token) {
-        // Aqui você pode adicionar o token a uma blacklist no Redis
-        // Por enquanto, apenas validamos
-        jwtTokenProvider.validateToken(token);
+        // Revogar o jti até a expiração natural do token; tokens inválidos ou expirados são ignorados
+        jwtTokenProvider.resolveToken(token).ifPresent(verified -> {
+            revocationService.revoke(verified.getTokenId(), verified.getExpiresAt());
+            jwtTokenProvider.invalidate(token);
+
+            // Encerrar também a família de refresh tokens da sessão (claim fam do access token)
+            if (verified.getFamilyId() != null) {
+                refreshTokenService.revokeFamily(verified.getFamilyId(), verified);
+            }
+        });
     }
 
     public boolean validateToken(String token) {
-        return jwtTokenProvider.validateToken(token);
+        return jwtTokenProvider.resolveToken(token)
+                .filter(verified -> !revocationService.isRevoked(verified.getTokenId()))
+                .isPresent();
+    }
+
+    // Refresh token recém-emitido já está no cache de verificados: não há novo parse
+    private String familyOf(String refreshToken) {
+        return jwtTokenProvider.verifyToken(refreshToken).getFamilyId();
     }
 }
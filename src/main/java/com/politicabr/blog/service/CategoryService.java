@@ -1,16 +1,18 @@
 package com.politicabr.blog.service;
 
+import com.politicabr.blog.cache.CacheReloaders;
 import com.politicabr.blog.dto.CategoryDTO;
 import com.politicabr.blog.entity.Category;
 import com.politicabr.blog.exception.ResourceNotFoundException;
 import com.politicabr.blog.mapper.CategoryMapper;
 import com.politicabr.blog.repository.CategoryRepository;
 import com.politicabr.blog.util.SlugUtil;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,6 +30,19 @@ public class CategoryService {
     @Autowired
     private SlugUtil slugUtil;
 
+    @Autowired
+    private CacheReloaders cacheReloaders;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Recarga em segundo plano do agregado (refreshAfterWrite), fora do proxy do @Cacheable
+    @PostConstruct
+    void registerReloaders() {
+        cacheReloaders.register("categoriesWithCount",
+                key -> transactionTemplate.execute(status -> loadCategoriesWithPostCount()));
+    }
+
     @Transactional(readOnly = true)
     @Cacheable(value = "categories")
     public List<CategoryDTO> getAllActiveCategories() {
@@ -38,8 +53,12 @@ public class CategoryService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "categoriesWithCount")
+    @Cacheable(value = "categoriesWithCount", sync = true)
     public List<CategoryDTO> getCategoriesWithPostCount() {
+        return loadCategoriesWithPostCount();
+    }
+
+    private List<CategoryDTO> loadCategoriesWithPostCount() {
         List<Object[]> results = categoryRepository.findActiveCategoriesWithPostCount();
         return results.stream()
                 .map(result -> {
@@ -54,6 +73,7 @@ public class CategoryService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(value = "category", key = "'id:' + #id")
     public CategoryDTO getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada"));
@@ -61,13 +81,13 @@ public class CategoryService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(value = "category", key = "'slug:' + #slug")
     public CategoryDTO getCategoryBySlug(String slug) {
         Category category = categoryRepository.findBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada: " + slug));
         return categoryMapper.toDTO(category);
     }
 
-    @CacheEvict(value = {"categories", "categoriesWithCount"}, allEntries = true)
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
         Category category = categoryMapper.toEntity(categoryDTO);
 
@@ -81,7 +101,6 @@ public class CategoryService {
         return categoryMapper.toDTO(savedCategory);
     }
 
-    @CacheEvict(value = {"categories", "categoriesWithCount"}, allEntries = true)
     public CategoryDTO updateCategory(Long id, CategoryDTO categoryDTO) {
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada"));
@@ -105,7 +124,6 @@ public class CategoryService {
         return categoryMapper.toDTO(savedCategory);
     }
 
-    @CacheEvict(value = {"categories", "categoriesWithCount"}, allEntries = true)
     public void deleteCategory(Long id) {
         if (!categoryRepository.existsById(id)) {
             throw new ResourceNotFoundException("Categoria não encontrada");
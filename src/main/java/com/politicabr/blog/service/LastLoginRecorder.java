@@ -0,0 +1,74 @@
+package com.politicabr.blog.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de último login com escrita adiada.
+ *
+ * O login apenas anota o horário em memória (mantendo o mais recente por usuário);
+ * a gravação acontece periodicamente em um único UPDATE em lote, fora da transação
+ * do login e sem tocar em updated_at. Pendências são gravadas no desligamento.
+ */
+@Component
+public class LastLoginRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    // Nunca retrocede o valor gravado, mesmo se dois nós gravarem fora de ordem
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${users.last-login.flush-interval:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            // remove(chave, valor): um login registrado durante o flush permanece para o próximo
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                Timestamp loginAt = Timestamp.valueOf(entry.getValue());
+                batch.add(new Object[]{loginAt, entry.getKey(), loginAt});
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            logger.debug("Flushed last login for {} users", batch.size());
+        } catch (RuntimeException ex) {
+            // Devolve ao buffer para a próxima tentativa
+            for (Object[] row : batch) {
+                record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+            logger.warn("Could not flush last login updates: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
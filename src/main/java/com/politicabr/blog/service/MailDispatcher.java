@@ -0,0 +1,174 @@
+package com.politicabr.blog.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envia os emails da mail_outbox em segundo plano.
+ *
+ * Cada rodada reserva um lote com {@code FOR UPDATE SKIP LOCKED} (vários nós podem rodar
+ * o dispatcher sem disputar as mesmas linhas), envia o lote inteiro por uma única conexão
+ * SMTP e registra o resultado de cada mensagem. Falhas voltam para PENDING com backoff
+ * exponencial até o limite de tentativas. Reservas de um nó que caiu expiram após o lease.
+ */
+@Component
+public class MailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private static final String CLAIM_SQL = """
+            UPDATE mail_outbox
+            SET status = 'SENDING', claimed_at = now(), attempts = attempts + 1
+            WHERE id IN (
+                SELECT id FROM mail_outbox
+                WHERE (status = 'PENDING' AND next_attempt_at <= now())
+                   OR (status = 'SENDING' AND claimed_at < ?)
+                ORDER BY next_attempt_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, recipient, subject, body, attempts
+            """;
+
+    private static final String MARK_SENT_SQL =
+            "UPDATE mail_outbox SET status = 'SENT', sent_at = now(), last_error = NULL WHERE id = ?";
+
+    private static final String MARK_FAILED_SQL =
+            "UPDATE mail_outbox SET status = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Value("${mail.outbox.from:no-reply@politicabr.com}")
+    private String from;
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff.initial:30s}")
+    private Duration initialBackoff;
+
+    @Value("${mail.outbox.backoff.max:1h}")
+    private Duration maxBackoff;
+
+    @Value("${mail.outbox.lease:5m}")
+    private Duration lease;
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:5000}")
+    public void dispatch() {
+        List<OutboxMail> claimed;
+        do {
+            claimed = claim();
+            if (!claimed.isEmpty()) {
+                send(claimed);
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    private List<OutboxMail> claim() {
+        Timestamp leaseExpiredBefore = Timestamp.valueOf(LocalDateTime.now().minus(lease));
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxMail(
+                rs.getLong("id"),
+                rs.getString("recipient"),
+                rs.getString("subject"),
+                rs.getString("body"),
+                rs.getInt("attempts")
+        ), leaseExpiredBefore, batchSize);
+    }
+
+    private void send(List<OutboxMail> batch) {
+        Map<MimeMessage, OutboxMail> messages = new IdentityHashMap<>();
+        List<Long> sent = new ArrayList<>();
+        List<Object[]> failed = new ArrayList<>();
+
+        for (OutboxMail mail : batch) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException ex) {
+                failed.add(failure(mail, ex));
+            }
+        }
+
+        try {
+            // JavaMailSenderImpl envia o array inteiro pela mesma conexão SMTP
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            messages.values().forEach(mail -> sent.add(mail.id()));
+        } catch (MailSendException ex) {
+            Map<Object, Exception> failedMessages = ex.getFailedMessages();
+            messages.forEach((message, mail) -> {
+                Exception cause = failedMessages.isEmpty() ? ex : failedMessages.get(message);
+                if (cause == null) {
+                    sent.add(mail.id());
+                } else {
+                    failed.add(failure(mail, cause));
+                }
+            });
+        } catch (MailException ex) {
+            messages.values().forEach(mail -> failed.add(failure(mail, ex)));
+        }
+
+        if (!sent.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_SENT_SQL, sent, sent.size(), (ps, id) -> ps.setLong(1, id));
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_FAILED_SQL, failed);
+            logger.warn("Failed to send {} of {} outbox emails", failed.size(), batch.size());
+        }
+        logger.debug("Sent {} outbox emails", sent.size());
+    }
+
+    private MimeMessage toMimeMessage(OutboxMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(from);
+        helper.setTo(mail.recipient());
+        helper.setSubject(mail.subject());
+        helper.setText(mail.body());
+        return message;
+    }
+
+    private Object[] failure(OutboxMail mail, Exception cause) {
+        boolean exhausted = mail.attempts() >= maxAttempts;
+        String status = exhausted ? "FAILED" : "PENDING";
+        String error = String.valueOf(cause.getMessage());
+        if (error.length() > 500) {
+            error = error.substring(0, 500);
+        }
+        return new Object[]{status, Timestamp.valueOf(LocalDateTime.now().plus(backoff(mail.attempts()))), error, mail.id()};
+    }
+
+    // initial * 2^(tentativas - 1), limitado a max
+    Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private record OutboxMail(long id, String recipient, String subject, String body, int attempts) {
+    }
+}
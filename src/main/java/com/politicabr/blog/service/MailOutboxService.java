@@ -0,0 +1,35 @@
+package com.politicabr.blog.service;
+
+import com.politicabr.blog.entity.MailOutbox;
+import com.politicabr.blog.entity.User;
+import com.politicabr.blog.repository.MailOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Enfileira emails na tabela mail_outbox dentro da transação de quem chama.
+ * O envio SMTP acontece depois, no {@link MailDispatcher}: se a transação for desfeita,
+ * o email também é.
+ */
+@Service
+public class MailOutboxService {
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String recipient, String subject, String body) {
+        mailOutboxRepository.save(new MailOutbox(recipient, subject, body));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueWelcome(User user) {
+        enqueue(user.getEmail(),
+                "Bem-vindo ao PoliticaBR",
+                "Olá, " + user.getFirstName() + "!\n\n"
+                        + "Sua conta \"" + user.getUsername() + "\" foi criada com sucesso.\n\n"
+                        + "Equipe PoliticaBR");
+    }
+}
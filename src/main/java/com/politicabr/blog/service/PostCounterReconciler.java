@@ -0,0 +1,107 @@
+package com.politicabr.blog.service;
+
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.cache.TaxonomyCacheUpdater;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Confere published_post_count de tags e categorias contra a contagem real de posts publicados.
+ *
+ * Os contadores são mantidos pelos triggers de schema.sql; esta rotina só corrige desvios
+ * (alterações feitas com os triggers desabilitados, restaurações parciais) e preenche as linhas
+ * existentes quando a coluna é criada. Roda em REPEATABLE READ: se um trigger alterar o mesmo
+ * contador durante a conferência, a transação falha por serialização e a correção fica para a
+ * próxima rodada, em vez de gravar uma contagem já desatualizada.
+ */
+@Service
+public class PostCounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCounterReconciler.class);
+
+    private static final String RECONCILE_TAGS = """
+            UPDATE tags t SET published_post_count = c.cnt
+            FROM (SELECT t2.id, count(p.id) AS cnt
+                  FROM tags t2
+                  LEFT JOIN post_tags pt ON pt.tag_id = t2.id
+                  LEFT JOIN posts p ON p.id = pt.post_id AND p.published
+                  GROUP BY t2.id) c
+            WHERE c.id = t.id AND t.published_post_count <> c.cnt
+            """;
+
+    private static final String RECONCILE_CATEGORIES = """
+            UPDATE categories cat SET published_post_count = c.cnt
+            FROM (SELECT c2.id, count(p.id) AS cnt
+                  FROM categories c2
+                  LEFT JOIN posts p ON p.category_id = c2.id AND p.published
+                  GROUP BY c2.id) c
+            WHERE c.id = cat.id AND cat.published_post_count <> c.cnt
+            """;
+
+    private static final List<String> COUNTED_CACHES = List.of(TaxonomyCacheUpdater.TAGS,
+            TaxonomyCacheUpdater.POPULAR_TAGS, TaxonomyCacheUpdater.CATEGORIES_WITH_COUNT);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PostCounterReconciler(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${counters.reconcile-cron:0 0 4 * * *}", zone = "UTC")
+    public void reconcile() {
+        int fixed;
+        try {
+            fixed = transactionTemplate.execute(status -> {
+                int changed = jdbcTemplate.update(RECONCILE_TAGS) + jdbcTemplate.update(RECONCILE_CATEGORIES);
+                if (changed > 0) {
+                    COUNTED_CACHES.forEach(name -> cacheInvalidationBus.publish(name, CacheInvalidationBus.ALL_KEYS));
+                }
+                return changed;
+            });
+        } catch (ConcurrencyFailureException ex) {
+            logger.warn("Post counter reconciliation skipped after concurrent update: {}", ex.getMessage());
+            return;
+        }
+
+        if (fixed > 0) {
+            COUNTED_CACHES.forEach(name -> {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            });
+            logger.warn("Post counter reconciliation fixed {} tag/category counters", fixed);
+        } else {
+            logger.info("Post counters are consistent");
+        }
+    }
+}
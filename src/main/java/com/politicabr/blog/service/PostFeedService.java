@@ -0,0 +1,104 @@
+package com.politicabr.blog.service;
+
+import com.politicabr.blog.dto.CursorPageDTO;
+import com.politicabr.blog.dto.PostSummaryDTO;
+import com.politicabr.blog.repository.PostRepository;
+import com.politicabr.blog.util.CursorCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Listagens públicas de posts paginadas por cursor.
+ *
+ * Cada página busca {@code size + 1} linhas a partir da posição do cursor: a linha extra
+ * só indica se há próxima página. O custo independe da profundidade e não há COUNT.
+ * As linhas são resumos (PostSummaryDTO) com autor e categoria na mesma consulta; as
+ * tags da página chegam numa segunda consulta em lote, sem N+1.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PostFeedService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CursorCodec cursorCodec;
+
+    @Autowired
+    private ViewCounter viewCounter;
+
+    public CursorPageDTO<PostSummaryDTO> getPublishedPosts(String cursor, int size) {
+        CursorCodec.Position position = cursorCodec.decode(cursor);
+        return page(postRepository.findPublishedPostsAfter(position.getSortKey(), position.getId(), limit(size)),
+                size, PostSummaryDTO::getCreatedAt);
+    }
+
+    public CursorPageDTO<PostSummaryDTO> getFeaturedPosts(String cursor, int size) {
+        CursorCodec.Position position = cursorCodec.decode(cursor);
+        return page(postRepository.findFeaturedPostsAfter(position.getSortKey(), position.getId(), limit(size)),
+                size, PostSummaryDTO::getCreatedAt);
+    }
+
+    public CursorPageDTO<PostSummaryDTO> getPostsByCategory(String categorySlug, String cursor, int size) {
+        CursorCodec.Position position = cursorCodec.decode(cursor);
+        return page(postRepository.findByCategoryAfter(categorySlug, position.getSortKey(), position.getId(), limit(size)),
+                size, PostSummaryDTO::getCreatedAt);
+    }
+
+    public CursorPageDTO<PostSummaryDTO> getPostsByAuthor(Long authorId, String cursor, int size) {
+        CursorCodec.Position position = cursorCodec.decode(cursor);
+        return page(postRepository.findByAuthorAfter(authorId, position.getSortKey(), position.getId(), limit(size)),
+                size, PostSummaryDTO::getCreatedAt);
+    }
+
+    public CursorPageDTO<PostSummaryDTO> getPostsByTag(String tagSlug, String cursor, int size) {
+        CursorCodec.Position position = cursorCodec.decode(cursor);
+        return page(postRepository.findByTagAfter(tagSlug, position.getSortKey(), position.getId(), limit(size)),
+                size, PostSummaryDTO::getCreatedAt);
+    }
+
+    // Posts com qualquer uma das tags
+    public CursorPageDTO<PostSummaryDTO> getPostsByTags(Collection<String> tagSlugs, String cursor, int size) {
+        CursorCodec.Position position = cursorCodec.decode(cursor);
+        return page(postRepository.findByTagsAfter(tagSlugs, position.getSortKey(), position.getId(), limit(size)),
+                size, PostSummaryDTO::getCreatedAt);
+    }
+
+    public CursorPageDTO<PostSummaryDTO> getRecentPosts(LocalDateTime since, String cursor, int size) {
+        CursorCodec.Position position = cursorCodec.decode(cursor);
+        return page(postRepository.findRecentPostsAfter(since, position.getSortKey(), position.getId(), limit(size)),
+                size, PostSummaryDTO::getPublishedAt);
+    }
+
+    private Limit limit(int size) {
+        return Limit.of(clamp(size) + 1);
+    }
+
+    private CursorPageDTO<PostSummaryDTO> page(List<PostSummaryDTO> rows, int size,
+                                               Function<PostSummaryDTO, LocalDateTime> sortKey) {
+        int pageSize = clamp(size);
+        List<PostSummaryDTO> content = rows.size() <= pageSize ? rows : List.copyOf(rows.subList(0, pageSize));
+        postRepository.attachTags(content);
+        viewCounter.applyPendingToSummaries(content);
+        if (rows.size() <= pageSize) {
+            return new CursorPageDTO<>(content, null);
+        }
+
+        PostSummaryDTO last = content.get(pageSize - 1);
+        return new CursorPageDTO<>(content, cursorCodec.encode(sortKey.apply(last), last.getId()));
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
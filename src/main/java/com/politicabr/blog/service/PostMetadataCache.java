@@ -0,0 +1,108 @@
+package com.politicabr.blog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.event.EntityChangedEvent;
+import com.politicabr.blog.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cache dos metadados de posts publicados usados em caminhos quentes (registro de leitura,
+ * trending), para não consultar o banco a cada visualização. O cache é limitado em tamanho e as
+ * entradas expiram após um tempo, de modo que ids raramente lidos saem da memória e eventuais
+ * invalidações perdidas se corrigem sozinhas. Posts inexistentes ou não publicados
+ * ficam por pouco tempo num cache negativo limitado, para que visualizações de ids inválidos não
+ * voltem ao banco a cada requisição; alterações em posts invalidam as duas entradas após o commit,
+ * nesta e nas demais instâncias (via {@link CacheInvalidationBus}).
+ */
+@Component
+public class PostMetadataCache {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${posts.metadata-cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${posts.metadata-cache.max-size:50000}")
+    private long maxSize;
+
+    @Value("${posts.metadata-cache.negative-ttl:30s}")
+    private Duration negativeTtl;
+
+    @Value("${posts.metadata-cache.negative-max-size:10000}")
+    private long negativeMaxSize;
+
+    private Cache<Long, PostMetadata> cache;
+    private Cache<Long, Boolean> missing;
+
+    @PostConstruct
+    void registerInvalidation() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        missing = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(negativeTtl)
+                .build();
+        cacheInvalidationBus.register(CacheInvalidationBus.POSTS, key -> evict(Long.valueOf(key)), this::clear);
+    }
+
+    public Optional<PostMetadata> get(long postId) {
+        PostMetadata cached = cache.getIfPresent(postId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (missing.getIfPresent(postId) != null) {
+            return Optional.empty();
+        }
+
+        List<Object[]> rows = postRepository.findPublishedMetadata(postId);
+        if (rows.isEmpty()) {
+            missing.put(postId, Boolean.TRUE);
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        PostMetadata metadata = new PostMetadata(postId, (Long) row[1], (String) row[2], (String) row[3]);
+        cache.put(postId, metadata);
+        return Optional.of(metadata);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(EntityChangedEvent event) {
+        if (event.isAbout(Post.class)) {
+            evict((Long) event.getEntityId());
+        }
+    }
+
+    private void evict(Long postId) {
+        cache.invalidate(postId);
+        missing.invalidate(postId);
+    }
+
+    private void clear() {
+        cache.invalidateAll();
+        missing.invalidateAll();
+    }
+
+    /**
+     * Post publicado e sua categoria ({@code categoryId} nulo quando o post não tem categoria).
+     */
+    public record PostMetadata(Long postId, Long categoryId, String title, String slug) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.politicabr.blog.service;
+
+import com.politicabr.blog.dto.PostSummaryDTO;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.repository.PostRepository;
+import com.politicabr.blog.search.DatabasePostSearchEngine;
+import com.politicabr.blog.search.InMemoryPostSearchEngine;
+import com.politicabr.blog.search.PostSearchEngine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Busca de posts publicados. O motor é escolhido por {@code search.engine}:
+ * {@code database} (padrão, PostgreSQL) ou {@code memory} (índice invertido em memória).
+ */
+@Service
+@Transactional(readOnly = true)
+public class PostSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchService.class);
+
+    @Autowired
+    private DatabasePostSearchEngine databaseSearchEngine;
+
+    @Autowired
+    private ViewCounter viewCounter;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    // Presente apenas com search.engine=memory
+    @Autowired(required = false)
+    private InMemoryPostSearchEngine memorySearchEngine;
+
+    private PostSearchEngine engine;
+
+    @PostConstruct
+    void selectEngine() {
+        engine = memorySearchEngine != null ? memorySearchEngine : databaseSearchEngine;
+        logger.info("Post search engine: {}", engine.name());
+    }
+
+    /**
+     * Página de resultados em ordem de relevância, como resumos (autor, categoria e tags em
+     * consultas em lote, as mesmas das listagens).
+     */
+    public Page<PostSummaryDTO> search(String query, Pageable pageable) {
+        Page<Post> results = engine.search(query, pageable);
+        List<Long> ids = results.getContent().stream().map(Post::getId).toList();
+
+        // findSummaries ordena por data: reordenar pela relevância
+        Map<Long, PostSummaryDTO> summaries = postRepository.findSummaries(ids).stream()
+                .collect(Collectors.toMap(PostSummaryDTO::getId, Function.identity()));
+        List<PostSummaryDTO> content = ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        postRepository.attachTags(content);
+        viewCounter.applyPendingToSummaries(content);
+        return new PageImpl<>(content, pageable, results.getTotalElements());
+    }
+}
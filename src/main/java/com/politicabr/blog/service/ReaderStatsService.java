@@ -0,0 +1,210 @@
+package com.politicabr.blog.service;
+
+import com.politicabr.blog.dto.UniqueReadersDTO;
+import com.politicabr.blog.util.BloomFilter;
+import com.politicabr.blog.util.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leitores únicos por post e por categoria, estimados com sketches HyperLogLog diários.
+ *
+ * Cada visualização entra no sketch do dia (UTC) do post e da sua categoria, em memória.
+ * Periodicamente os sketches são combinados com os já gravados em reader_sketches (bytea)
+ * sob lock de linha, o que permite vários nós gravando o mesmo dia. As consultas combinam
+ * no máximo 30 sketches diários por post ou categoria, sem tabela de eventos. Como a menor
+ * granularidade é o dia UTC, o número mais curto é o do dia atual, não o das últimas 24 horas.
+ */
+@Service
+public class ReaderStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReaderStatsService.class);
+
+    static final String SCOPE_POST = "POST";
+    static final String SCOPE_CATEGORY = "CATEGORY";
+
+    private static final int WINDOW_DAYS = 30;
+
+    // Sketch vazio no formato esparso, usado para criar a linha antes de travá-la
+    private static final byte[] EMPTY_SKETCH = new HyperLogLog().toBytes();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PostMetadataCache postMetadataCache;
+
+    @Value("${analytics.readers.retention-days:35}")
+    private int retentionDays;
+
+    private final ConcurrentHashMap<SketchKey, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Identificador do leitor: o usuário autenticado ou, para anônimos, IP + User-Agent.
+     * Apenas o hash entra no sketch; nada que identifique o leitor é gravado.
+     */
+    public static String fingerprint(String username, String remoteAddress, String userAgent) {
+        if (username != null) {
+            return "u:" + username;
+        }
+        return "a:" + remoteAddress + "|" + (userAgent == null ? "" : userAgent);
+    }
+
+    public void record(long postId, String fingerprint) {
+        postMetadataCache.get(postId).ifPresent(metadata -> {
+            long hash = BloomFilter.hash64(fingerprint);
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            add(new SketchKey(SCOPE_POST, postId, today), hash);
+            if (metadata.categoryId() != null) {
+                add(new SketchKey(SCOPE_CATEGORY, metadata.categoryId(), today), hash);
+            }
+        });
+    }
+
+    private void add(SketchKey key, long hash) {
+        // compute é atômico com o remove do flush: nenhum hash cai num sketch já retirado
+        pending.compute(key, (k, sketch) -> {
+            HyperLogLog target = sketch == null ? new HyperLogLog() : sketch;
+            target.add(hash);
+            return target;
+        });
+    }
+
+    public UniqueReadersDTO getPostReaders(long postId) {
+        return uniqueReaders(SCOPE_POST, postId);
+    }
+
+    public UniqueReadersDTO getCategoryReaders(long categoryId) {
+        return uniqueReaders(SCOPE_CATEGORY, categoryId);
+    }
+
+    private UniqueReadersDTO uniqueReaders(String scope, long id) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate firstDay = today.minusDays(WINDOW_DAYS - 1);
+
+        Map<LocalDate, HyperLogLog> daily = new HashMap<>();
+        jdbcTemplate.query("SELECT day, sketch FROM reader_sketches WHERE scope = ? AND scope_id = ? AND day >= ?",
+                rs -> {
+                    daily.put(rs.getDate("day").toLocalDate(), HyperLogLog.fromBytes(rs.getBytes("sketch")));
+                },
+                scope, id, Date.valueOf(firstDay));
+
+        // Visualizações ainda não gravadas
+        for (LocalDate day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+            HyperLogLog unflushed = pending.get(new SketchKey(scope, id, day));
+            if (unflushed != null) {
+                daily.computeIfAbsent(day, d -> new HyperLogLog()).merge(unflushed);
+            }
+        }
+
+        HyperLogLog todayReaders = new HyperLogLog();
+        HyperLogLog last7Days = new HyperLogLog();
+        HyperLogLog last30Days = new HyperLogLog();
+        for (Map.Entry<LocalDate, HyperLogLog> entry : daily.entrySet()) {
+            LocalDate day = entry.getKey();
+            last30Days.merge(entry.getValue());
+            if (day.isAfter(today.minusDays(7))) {
+                last7Days.merge(entry.getValue());
+            }
+            if (day.equals(today)) {
+                todayReaders.merge(entry.getValue());
+            }
+        }
+        return new UniqueReadersDTO(todayReaders.estimate(), last7Days.estimate(), last30Days.estimate());
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.readers.flush-interval:60000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Agrupado por escopo e dia, em ordem de id: nós concorrentes travam as linhas na mesma ordem
+        Map<SketchGroup, TreeMap<Long, HyperLogLog>> groups = new HashMap<>();
+        for (SketchKey key : List.copyOf(pending.keySet())) {
+            HyperLogLog sketch = pending.remove(key);
+            if (sketch != null) {
+                groups.computeIfAbsent(new SketchGroup(key.scope(), key.day()), g -> new TreeMap<>())
+                        .put(key.id(), sketch);
+            }
+        }
+
+        for (Map.Entry<SketchGroup, TreeMap<Long, HyperLogLog>> group : groups.entrySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(group.getKey(), group.getValue()));
+            } catch (RuntimeException ex) {
+                // Devolve ao buffer para a próxima tentativa
+                group.getValue().forEach((id, sketch) -> pending.merge(
+                        new SketchKey(group.getKey().scope(), id, group.getKey().day()), sketch,
+                        (current, failed) -> {
+                            current.merge(failed);
+                            return current;
+                        }));
+                logger.warn("Could not flush reader sketches: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private void write(SketchGroup group, TreeMap<Long, HyperLogLog> sketches) {
+        Date day = Date.valueOf(group.day());
+        Long[] ids = sketches.keySet().toArray(Long[]::new);
+
+        // Garante a linha de cada chave para que o FOR UPDATE abaixo trave todas
+        jdbcTemplate.update("""
+                INSERT INTO reader_sketches (scope, scope_id, day, sketch)
+                SELECT ?, id, ?, ? FROM unnest(?::bigint[]) AS id
+                ON CONFLICT (scope, scope_id, day) DO NOTHING
+                """, group.scope(), day, EMPTY_SKETCH, ids);
+
+        jdbcTemplate.query("""
+                SELECT scope_id, sketch FROM reader_sketches
+                WHERE scope = ? AND day = ? AND scope_id = ANY(?::bigint[])
+                ORDER BY scope_id FOR UPDATE
+                """, rs -> {
+            sketches.get(rs.getLong("scope_id")).merge(HyperLogLog.fromBytes(rs.getBytes("sketch")));
+        }, group.scope(), day, ids);
+
+        List<Object[]> batch = new ArrayList<>(sketches.size());
+        sketches.forEach((id, sketch) -> batch.add(new Object[]{sketch.toBytes(), group.scope(), id, day}));
+        jdbcTemplate.batchUpdate("UPDATE reader_sketches SET sketch = ? WHERE scope = ? AND scope_id = ? AND day = ?", batch);
+        logger.debug("Flushed {} reader sketches for {} {}", sketches.size(), group.scope(), group.day());
+    }
+
+    @Scheduled(cron = "${analytics.readers.cleanup-cron:0 30 3 * * *}", zone = "UTC")
+    public void deleteExpired() {
+        LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays);
+        int deleted = jdbcTemplate.update("DELETE FROM reader_sketches WHERE day < ?", Date.valueOf(cutoff));
+        logger.info("Deleted {} reader sketches older than {}", deleted, cutoff);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private record SketchKey(String scope, long id, LocalDate day) {
+    }
+
+    private record SketchGroup(String scope, LocalDate day) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.politicabr.blog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.politicabr.blog.entity.RefreshToken;
+import com.politicabr.blog.entity.User;
+import com.politicabr.blog.entity.enums.RefreshTokenStatus;
+import com.politicabr.blog.exception.AuthenticationException;
+import com.politicabr.blog.repository.RefreshTokenRepository;
+import com.politicabr.blog.security.JwtTokenProvider;
+import com.politicabr.blog.security.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Famílias de refresh tokens com rotação a cada uso.
+ *
+ * Cada login abre uma família; cada refresh marca o token apresentado como ROTATED e emite o
+ * próximo da mesma família. Reapresentar um token já rotacionado indica vazamento e revoga a
+ * família inteira, exceto dentro de uma curta janela após a rotação: dois refreshes concorrentes
+ * do mesmo cliente (abas, retentativas) recebem 401 no perdedor sem derrubar a sessão. O cache de
+ * cabeças de família evita ida ao banco para famílias já revogadas.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Value("${security.jwt.refresh-tokens.family-cache.max-size:100000}")
+    private int familyCacheMaxSize;
+
+    @Value("${security.jwt.refresh-tokens.sweep-batch-size:1000}")
+    private int sweepBatchSize;
+
+    @Value("${security.jwt.refresh-tokens.reuse-grace:10s}")
+    private Duration reuseGrace;
+
+    // Limitado por tamanho; cada entrada expira junto com o último token conhecido da família
+    private Cache<String, FamilyHead> familyHeads;
+
+    @PostConstruct
+    void init() {
+        familyHeads = Caffeine.newBuilder()
+                .maximumSize(familyCacheMaxSize)
+                .expireAfter(Expiry.writing((String familyId, FamilyHead head) ->
+                        Duration.between(Instant.now(), head.expiresAt)))
+                .build();
+    }
+
+    /**
+     * Abre uma nova família e devolve o primeiro refresh token dela.
+     */
+    public String issue(User user) {
+        return issueInFamily(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Troca o refresh token apresentado pelo próximo da família.
+     */
+    public String rotate(VerifiedToken presented, User user) {
+        String familyId = presented.getFamilyId();
+        if (!presented.isRefreshToken() || familyId == null || presented.getTokenId() == null) {
+            throw new AuthenticationException("Refresh token inválido ou expirado");
+        }
+
+        FamilyHead head = familyHeads.getIfPresent(familyId);
+        if (head != null && head.revoked) {
+            throw new AuthenticationException("Refresh token revogado");
+        }
+
+        // Único acesso indexado (jti) que também serializa refreshes concorrentes do mesmo token
+        int rotated = refreshTokenRepository.markRotated(presented.getTokenId(), LocalDateTime.now(),
+                RefreshTokenStatus.ACTIVE, RefreshTokenStatus.ROTATED);
+
+        if (rotated == 0) {
+            if (isWithinReuseGrace(presented.getTokenId())) {
+                // Refresh concorrente do mesmo token: o outro pedido já levou a próxima cabeça
+                logger.debug("Refresh token of family {} re-presented within the reuse grace window", familyId);
+                throw new AuthenticationException("Refresh token já utilizado");
+            }
+            // Assinatura válida com claim fam: o token foi emitido por nós e já não é a cabeça da família
+            logger.warn("Refresh token reuse detected for user {}; revoking family {} (current head {})",
+                    user.getId(), familyId, head != null ? head.jti : "unknown");
+            revokeFamily(familyId, presented);
+            throw new AuthenticationException("Refresh token inválido ou expirado");
+        }
+
+        return issueInFamily(user, familyId);
+    }
+
+    public void revokeFamily(String familyId, VerifiedToken presented) {
+        refreshTokenRepository.revokeFamily(familyId, RefreshTokenStatus.REVOKED);
+        familyHeads.put(familyId, new FamilyHead(null, true, presented.getExpiresAt()));
+    }
+
+    // Apaga tokens expirados em lotes, cada lote na sua própria transação
+    @Scheduled(fixedDelayString = "${security.jwt.refresh-tokens.sweep-interval:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, sweepBatchSize);
+            total += deleted;
+        } while (deleted == sweepBatchSize);
+
+        familyHeads.cleanUp();
+
+        if (total > 0) {
+            logger.debug("Deleted {} expired refresh tokens", total);
+        }
+    }
+
+    private String issueInFamily(User user, String familyId) {
+        String token = jwtTokenProvider.generateRefreshToken(user, familyId);
+        VerifiedToken issued = jwtTokenProvider.verifyToken(token);
+
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(issued.getExpiresAt(), ZoneId.systemDefault());
+        refreshTokenRepository.save(new RefreshToken(issued.getTokenId(), familyId, user, expiresAt));
+
+        familyHeads.put(familyId, new FamilyHead(issued.getTokenId(), false, issued.getExpiresAt()));
+        return token;
+    }
+
+    // Rotacionado há menos de reuseGrace: perdedor de uma corrida, não reuso de token vazado
+    private boolean isWithinReuseGrace(String jti) {
+        return refreshTokenRepository.findByJti(jti)
+                .filter(token -> token.getStatus() == RefreshTokenStatus.ROTATED && token.getRotatedAt() != null)
+                .map(token -> !token.getRotatedAt().isBefore(LocalDateTime.now().minus(reuseGrace)))
+                .orElse(false);
+    }
+
+    private static final class FamilyHead {
+        private final String jti;
+        private final boolean revoked;
+        private final Instant expiresAt;
+
+        private FamilyHead(String jti, boolean revoked, Instant expiresAt) {
+            this.jti = jti;
+            this.revoked = revoked;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
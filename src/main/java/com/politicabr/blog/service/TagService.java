@@ -1,16 +1,19 @@
 package com.politicabr.blog.service;
 
+import com.politicabr.blog.cache.CacheReloaders;
 import com.politicabr.blog.dto.TagDTO;
 import com.politicabr.blog.entity.Tag;
 import com.politicabr.blog.exception.ResourceNotFoundException;
 import com.politicabr.blog.mapper.TagMapper;
 import com.politicabr.blog.repository.TagRepository;
 import com.politicabr.blog.util.SlugUtil;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,9 +31,27 @@ public class TagService {
     @Autowired
     private SlugUtil slugUtil;
 
+    @Autowired
+    private CacheReloaders cacheReloaders;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Recarga em segundo plano dos agregados (refreshAfterWrite), fora do proxy do @Cacheable
+    @PostConstruct
+    void registerReloaders() {
+        cacheReloaders.register("tags", key -> transactionTemplate.execute(status -> loadAllTags()));
+        cacheReloaders.register("popularTags",
+                key -> transactionTemplate.execute(status -> loadPopularTags((Integer) key)));
+    }
+
     @Transactional(readOnly = true)
-    @Cacheable(value = "tags")
+    @Cacheable(value = "tags", sync = true)
     public List<TagDTO> getAllTags() {
+        return loadAllTags();
+    }
+
+    private List<TagDTO> loadAllTags() {
         List<Object[]> results = tagRepository.findAllWithPostCount();
         return results.stream()
                 .map(result -> {
@@ -45,11 +66,14 @@ public class TagService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "popularTags")
+    @Cacheable(value = "popularTags", sync = true)
     public List<TagDTO> getPopularTags(int limit) {
-        List<Object[]> results = tagRepository.findPopularTags();
+        return loadPopularTags(limit);
+    }
+
+    private List<TagDTO> loadPopularTags(int limit) {
+        List<Object[]> results = tagRepository.findPopularTags(Limit.of(limit));
         return results.stream()
-                .limit(limit)
                 .map(result -> {
                     Tag tag = (Tag) result[0];
                     Long count = result.length > 1 ? (Long) result[1] : 0L;
@@ -62,6 +86,7 @@ public class TagService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(value = "tag", key = "'id:' + #id")
     public TagDTO getTagById(Long id) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tag não encontrada"));
@@ -69,6 +94,7 @@ public class TagService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(value = "tag", key = "'slug:' + #slug")
     public TagDTO getTagBySlug(String slug) {
         Tag tag = tagRepository.findBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Tag não encontrada: " + slug));
@@ -83,7 +109,6 @@ public class TagService {
                 .collect(Collectors.toList());
     }
 
-    @CacheEvict(value = {"tags", "popularTags"}, allEntries = true)
     public TagDTO createTag(TagDTO tagDTO) {
         Tag tag = tagMapper.toEntity(tagDTO);
 
@@ -97,7 +122,6 @@ public class TagService {
         return tagMapper.toDTO(savedTag);
     }
 
-    @CacheEvict(value = {"tags", "popularTags"}, allEntries = true)
     public TagDTO updateTag(Long id, TagDTO tagDTO) {
         Tag existingTag = tagRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Tag não encontrada"));
@@ -116,7 +140,6 @@ public class TagService {
         return tagMapper.toDTO(savedTag);
     }
 
-    @CacheEvict(value = {"tags", "popularTags"}, allEntries = true)
     public void deleteTag(Long id) {
         if (!tagRepository.existsById(id)) {
             throw new ResourceNotFoundException("Tag não encontrada");
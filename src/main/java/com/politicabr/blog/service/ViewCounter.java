@@ -0,0 +1,158 @@
+package com.politicabr.blog.service;
+
+import com.politicabr.blog.dto.PostSummaryDTO;
+import com.politicabr.blog.entity.Post;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de visualizações de posts com escrita adiada.
+ *
+ * Cada visualização incrementa um {@link LongAdder} do post em memória (células separadas
+ * por thread, sem disputa mesmo num post viral). Periodicamente os acumulados são
+ * gravados em um único UPDATE com arrays, em ordem de id, e pendências são gravadas no
+ * desligamento. Leituras somam o acumulado ainda não gravado ao valor do banco.
+ */
+@Component
+public class ViewCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCounter.class);
+
+    private static final String FLUSH_SQL = """
+            UPDATE posts p SET view_count = p.view_count + d.delta
+            FROM unnest(?::bigint[], ?::bigint[]) AS d(id, delta)
+            WHERE p.id = d.id
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Limita a memória quando chegam visualizações de muitos ids distintos (inclusive inexistentes)
+    @Value("${posts.views.max-pending-posts:100000}")
+    private int maxPendingPosts;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    public void record(long postId) {
+        add(postId, 1);
+    }
+
+    private void add(long postId, long views) {
+        LongAdder adder = pending.get(postId);
+        if (adder == null) {
+            if (pending.size() >= maxPendingPosts) {
+                dropped.add(views);
+                return;
+            }
+            adder = pending.computeIfAbsent(postId, id -> new LongAdder());
+        }
+        adder.add(views);
+
+        // O flush pode ter removido o contador entre o get e o add: quem zerar por último
+        // (flush ou esta thread) fica com o incremento, então nada se perde nem duplica
+        if (pending.get(postId) != adder) {
+            long orphaned = adder.sumThenReset();
+            if (orphaned > 0) {
+                add(postId, orphaned);
+            }
+        }
+    }
+
+    public long pendingViews(long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Soma as visualizações ainda não gravadas ao {@code viewCount} dos posts carregados.
+     * Usar apenas em posts de transações somente leitura (o valor não deve ser persistido).
+     */
+    public void applyPending(Collection<Post> posts) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Post post : posts) {
+            long views = pendingViews(post.getId());
+            if (views > 0) {
+                post.setViewCount((post.getViewCount() == null ? 0L : post.getViewCount()) + views);
+            }
+        }
+    }
+
+    public void applyPendingToSummaries(Collection<PostSummaryDTO> summaries) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (PostSummaryDTO summary : summaries) {
+            long views = pendingViews(summary.getId());
+            if (views > 0) {
+                summary.setViewCount((summary.getViewCount() == null ? 0L : summary.getViewCount()) + views);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${posts.views.flush-interval:5000}")
+    public void flush() {
+        long droppedViews = dropped.sumThenReset();
+        if (droppedViews > 0) {
+            logger.warn("Dropped {} post views: more than {} posts pending", droppedViews, maxPendingPosts);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Ordem de id: duas instâncias gravando ao mesmo tempo travam as linhas na mesma ordem
+        TreeMap<Long, Long> deltas = new TreeMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            if (delta == 0 && pending.remove(entry.getKey(), adder)) {
+                // Ocioso desde o último flush: sai do mapa; um incremento concorrente é
+                // recuperado aqui ou pela própria thread que incrementou
+                delta = adder.sumThenReset();
+            }
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        long[] sortedIds = new long[deltas.size()];
+        long[] sortedDeltas = new long[deltas.size()];
+        int i = 0;
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            sortedIds[i] = entry.getKey();
+            sortedDeltas[i] = entry.getValue();
+            i++;
+        }
+
+        try {
+            jdbcTemplate.update(FLUSH_SQL, sortedIds, sortedDeltas);
+            logger.debug("Flushed view counts for {} posts", sortedIds.length);
+        } catch (RuntimeException ex) {
+            // Devolve ao buffer para a próxima tentativa
+            deltas.forEach(this::add);
+            logger.warn("Could not flush view counts: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
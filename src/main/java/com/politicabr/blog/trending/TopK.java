@@ -0,0 +1,82 @@
+package com.politicabr.blog.trending;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Os K posts de maior pontuação, em ordem decrescente, num array ordenado.
+ *
+ * Com decaimento progressivo (forward decay) as pontuações só crescem, então um post
+ * só entra ou sobe: basta comparar com o último colocado e reposicionar o post alterado.
+ * Saídas (post despublicado, mudança de categoria) exigem reconstrução a partir das
+ * pontuações completas, feita pelo {@link TrendingService}.
+ */
+final class TopK {
+
+    private final long[] ids;
+    private final double[] scores;
+    private int size;
+
+    TopK(int capacity) {
+        this.ids = new long[capacity];
+        this.scores = new double[capacity];
+    }
+
+    synchronized void offer(long id, double score) {
+        int index = indexOf(id);
+        if (index < 0) {
+            if (size < ids.length) {
+                index = size++;
+            } else if (score > scores[size - 1]) {
+                index = size - 1;
+            } else {
+                return;
+            }
+            ids[index] = id;
+        }
+        scores[index] = score;
+
+        // Sobe até a posição correta
+        while (index > 0 && scores[index - 1] < scores[index]) {
+            swap(index, index - 1);
+            index--;
+        }
+    }
+
+    synchronized List<Entry> top(int limit) {
+        int count = Math.min(limit, size);
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(ids[i], scores[i]));
+        }
+        return entries;
+    }
+
+    // Chamado com o lock de escrita do TrendingService (troca de referência de tempo)
+    synchronized void rescale(double factor) {
+        for (int i = 0; i < size; i++) {
+            scores[i] *= factor;
+        }
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    record Entry(long postId, double score) {
+    }
+}
@@ -0,0 +1,539 @@
+package com.politicabr.blog.trending;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.dto.TrendingPostDTO;
+import com.politicabr.blog.entity.Comment;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.event.EntityChangedEvent;
+import com.politicabr.blog.exception.BadRequestException;
+import com.politicabr.blog.service.PostMetadataCache;
+import com.politicabr.blog.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Posts em alta: pontuação com decaimento exponencial por janela, mantida em memória.
+ *
+ * Visualizações e comentários somam peso à pontuação do post em cada janela configurada
+ * (a janela é a vida média do peso). Usa decaimento progressivo: cada evento soma
+ * {@code peso * e^(λ(t - referência))}, então nenhuma pontuação precisa ser atualizada
+ * com o passar do tempo e a ordem entre posts só muda quando chegam eventos. Isso
+ * permite manter top-K globais e por categoria atualizados a cada evento e responder
+ * consultas em O(K). Quando o expoente fica grande, tudo é reescalado para uma nova
+ * referência.
+ *
+ * Cada instância só recebe parte das visualizações. Periodicamente ela grava as pontuações
+ * dos próprios eventos em trending_scores, nas linhas do seu nodeId, e lê as das demais
+ * instâncias: o ranking usa a soma das duas partes, igual em todos os nós a menos de um
+ * intervalo de snapshot. Linhas de instâncias encerradas continuam valendo (e decaindo) para
+ * quem inicia depois, até expirarem. Visualizações repetidas do mesmo visitante (mesma
+ * impressão digital do {@link com.politicabr.blog.service.ReaderStatsService}) dentro de
+ * trending.view-dedup-window contam uma vez.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    // Reescala antes que e^x se aproxime do limite de double (~e^709)
+    private static final double MAX_EXPONENT = 300;
+
+    // Posts abaixo disso em todas as janelas deixam de ser acompanhados
+    private static final double MIN_SCORE = 0.01;
+
+    // Linhas de instâncias que não gravam há este número de janelas (a maior) já decaíram a ~0
+    private static final int STALE_NODE_WINDOWS = 10;
+
+    @Autowired
+    private PostMetadataCache postMetadataCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${trending.windows:1h,24h,7d}")
+    private List<String> windowNames;
+
+    @Value("${trending.default-window:24h}")
+    private String defaultWindow;
+
+    @Value("${trending.top-k:50}")
+    private int topK;
+
+    @Value("${trending.comment-weight:5}")
+    private double commentWeight;
+
+    @Value("${trending.view-dedup-window:30m}")
+    private Duration viewDedupWindow;
+
+    @Value("${trending.view-dedup-max-size:200000}")
+    private long viewDedupMaxSize;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private Clock clock = Clock.systemUTC();
+    private Cache<Long, Boolean> recentViews;
+    private Duration longestWindow = Duration.ZERO;
+
+    // Escalas e top-K só mudam com o lock de escrita; eventos e consultas usam o de leitura
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> windowIndex = new HashMap<>();
+    private double[] lambdas;
+    private volatile double landmark;
+
+    private final ConcurrentHashMap<Long, PostScore> scores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, TopK[]> byCategory = new ConcurrentHashMap<>();
+    private volatile TopK[] global;
+
+    @PostConstruct
+    void init() {
+        lambdas = new double[windowNames.size()];
+        for (int i = 0; i < lambdas.length; i++) {
+            String name = windowNames.get(i).trim();
+            windowIndex.put(name, i);
+            Duration duration = parseWindow(name);
+            lambdas[i] = 1.0 / duration.toSeconds();
+            if (duration.compareTo(longestWindow) > 0) {
+                longestWindow = duration;
+            }
+        }
+        if (!windowIndex.containsKey(defaultWindow)) {
+            throw new IllegalStateException("trending.default-window deve ser uma das janelas configuradas");
+        }
+        landmark = nowSeconds();
+        global = newTopKs();
+        recentViews = Caffeine.newBuilder()
+                .maximumSize(viewDedupMaxSize)
+                .expireAfterWrite(viewDedupWindow)
+                .build();
+
+        // Posts alterados em outras instâncias: o PostMetadataCache (registrado antes, por ser
+        // dependência) já descartou a entrada, então a consulta abaixo vê o estado confirmado
+        cacheInvalidationBus.register(CacheInvalidationBus.POSTS, key -> refreshPost(Long.valueOf(key)),
+                () -> List.copyOf(scores.keySet()).forEach(this::refreshPost));
+    }
+
+    /**
+     * Conta a visualização, a menos que o mesmo visitante já tenha visto o post na janela de deduplicação.
+     */
+    public void recordView(long postId, String fingerprint) {
+        long key = BloomFilter.hash64(fingerprint + "|" + postId);
+        if (recentViews.asMap().putIfAbsent(key, Boolean.TRUE) == null) {
+            record(postId, 1.0);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(Comment.class) && event.getChangeType() == EntityChangedEvent.ChangeType.CREATED) {
+            Comment comment = (Comment) event.getEntity();
+            if (comment.getPost() != null) {
+                record(comment.getPost().getId(), commentWeight);
+            }
+        } else if (event.isAbout(Post.class)) {
+            Post post = (Post) event.getEntity();
+            boolean published = event.getChangeType() != EntityChangedEvent.ChangeType.DELETED
+                    && post != null && Boolean.TRUE.equals(post.getPublished());
+            Long categoryId = post == null || post.getCategory() == null ? null : post.getCategory().getId();
+            onPostChanged((Long) event.getEntityId(), published, categoryId);
+        }
+    }
+
+    private void record(long postId, double weight) {
+        PostMetadataCache.PostMetadata metadata = postMetadataCache.get(postId).orElse(null);
+        if (metadata == null) {
+            return;
+        }
+
+        double now = nowSeconds();
+        lock.readLock().lock();
+        try {
+            double[] increments = new double[lambdas.length];
+            for (int i = 0; i < lambdas.length; i++) {
+                increments[i] = weight * Math.exp(lambdas[i] * (now - landmark));
+            }
+
+            PostScore score = scores.computeIfAbsent(postId, id -> new PostScore(lambdas.length, metadata.categoryId()));
+            double[] updated = score.add(increments);
+            TopK[] category = score.categoryId == null ? null
+                    : byCategory.computeIfAbsent(score.categoryId, id -> newTopKs());
+            for (int i = 0; i < lambdas.length; i++) {
+                global[i].offer(postId, updated[i]);
+                if (category != null) {
+                    category[i].offer(postId, updated[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (maxExponent(now) > MAX_EXPONENT) {
+            rescale(now);
+        }
+    }
+
+    /**
+     * Os posts em alta na janela, globais ou de uma categoria, com a pontuação decaída até agora.
+     */
+    public List<TrendingPostDTO> getTrending(String window, Long categoryId, int limit) {
+        Integer index = windowIndex.get(window == null ? defaultWindow : window);
+        if (index == null) {
+            throw new BadRequestException("Janela inválida. Use uma de: " + String.join(", ", windowNames));
+        }
+
+        List<TopK.Entry> entries;
+        double decay;
+        lock.readLock().lock();
+        try {
+            TopK[] source = categoryId == null ? global : byCategory.get(categoryId);
+            if (source == null) {
+                return List.of();
+            }
+            entries = source[index].top(Math.max(1, Math.min(limit, topK)));
+            decay = Math.exp(-lambdas[index] * (nowSeconds() - landmark));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<TrendingPostDTO> trending = new ArrayList<>(entries.size());
+        for (TopK.Entry entry : entries) {
+            postMetadataCache.get(entry.postId()).ifPresent(metadata -> trending.add(new TrendingPostDTO(
+                    metadata.postId(), metadata.title(), metadata.slug(), metadata.categoryId(),
+                    entry.score() * decay)));
+        }
+        return trending;
+    }
+
+    private void refreshPost(Long postId) {
+        if (!scores.containsKey(postId)) {
+            return;
+        }
+        PostMetadataCache.PostMetadata metadata = postMetadataCache.get(postId).orElse(null);
+        onPostChanged(postId, metadata != null, metadata == null ? null : metadata.categoryId());
+    }
+
+    private void onPostChanged(Long postId, boolean published, Long categoryId) {
+        PostScore score = scores.get(postId);
+        if (score == null) {
+            return;
+        }
+
+        if (!published) {
+            scores.remove(postId);
+        } else if (!Objects.equals(categoryId, score.categoryId)) {
+            score.categoryId = categoryId;
+        } else {
+            return;
+        }
+        // Saídas não cabem na atualização incremental dos top-K
+        rebuildTopKs();
+    }
+
+    /**
+     * Grava as pontuações dos eventos desta instância e incorpora as das demais.
+     */
+    @Scheduled(fixedDelayString = "${trending.snapshot-interval:60000}")
+    public void snapshot() {
+        writeSnapshot();
+        loadRemoteScores();
+    }
+
+    private void writeSnapshot() {
+        double now = nowSeconds();
+        List<Object[]> rows = new ArrayList<>();
+        boolean pruned = false;
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Long, PostScore> entry : scores.entrySet()) {
+                double[] combined = decay(entry.getValue().values(), now);
+                double[] local = decay(entry.getValue().local(), now);
+                if (!anyAlive(combined)) {
+                    scores.remove(entry.getKey());
+                    pruned = true;
+                    continue;
+                }
+                if (anyAlive(local)) {
+                    for (int i = 0; i < local.length; i++) {
+                        rows.add(new Object[]{entry.getKey(), windowNames.get(i).trim(), local[i]});
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (pruned) {
+            rebuildTopKs();
+        }
+
+        Timestamp snapshotAt = Timestamp.from(Instant.ofEpochMilli((long) (now * 1000)));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM trending_scores WHERE node_id = ?", nodeId);
+                jdbcTemplate.batchUpdate("""
+                                INSERT INTO trending_scores (node_id, post_id, window_name, score, snapshot_at)
+                                VALUES (?, ?, ?, ?, ?)
+                                """,
+                        rows.stream().map(row -> new Object[]{nodeId, row[0], row[1], row[2], snapshotAt}).toList());
+            });
+            logger.debug("Saved trending snapshot with {} scores", rows.size());
+        } catch (RuntimeException ex) {
+            logger.warn("Could not save trending snapshot: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Substitui a parte remota das pontuações pela soma dos snapshots das outras instâncias,
+     * inclusive das já encerradas (na inicialização, é isso que restaura o ranking).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRemoteScores() {
+        long start = System.currentTimeMillis();
+        List<RemoteRow> rows = new ArrayList<>();
+        try {
+            Timestamp staleBefore = Timestamp.from(clock.instant().minus(longestWindow.multipliedBy(STALE_NODE_WINDOWS)));
+            jdbcTemplate.update("DELETE FROM trending_scores WHERE node_id <> ? AND snapshot_at < ?", nodeId, staleBefore);
+
+            // Apenas posts ainda publicados; a categoria vem do estado atual do post
+            jdbcTemplate.query("""
+                    SELECT t.post_id, t.window_name, t.score, t.snapshot_at, p.category_id
+                    FROM trending_scores t
+                    JOIN posts p ON p.id = t.post_id AND p.published = true
+                    WHERE t.node_id <> ?
+                    """, rs -> {
+                Integer index = windowIndex.get(rs.getString("window_name"));
+                if (index != null) {
+                    rows.add(new RemoteRow(rs.getLong("post_id"), index, rs.getDouble("score"),
+                            rs.getTimestamp("snapshot_at").getTime() / 1000.0, rs.getObject("category_id", Long.class)));
+                }
+            }, nodeId);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not load trending scores from other nodes: {}", ex.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            applyRemoteLocked(rows);
+            rebuildTopKsLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Loaded {} trending scores from other nodes in {} ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    // Chamado com o lock de escrita: a conversão usa a referência de tempo atual
+    void applyRemoteLocked(List<RemoteRow> rows) {
+        Map<Long, double[]> remote = new HashMap<>();
+        Map<Long, Long> categories = new HashMap<>();
+        for (RemoteRow row : rows) {
+            // Decaído até agora e levado para a escala da referência atual
+            double forward = row.score() * Math.exp(lambdas[row.window()] * (row.snapshotAt() - landmark));
+            remote.computeIfAbsent(row.postId(), id -> new double[lambdas.length])[row.window()] += forward;
+            categories.put(row.postId(), row.categoryId());
+        }
+
+        double[] none = new double[lambdas.length];
+        for (Map.Entry<Long, PostScore> entry : scores.entrySet()) {
+            entry.getValue().setRemote(remote.getOrDefault(entry.getKey(), none));
+        }
+        remote.forEach((postId, values) -> {
+            PostScore score = scores.computeIfAbsent(postId, id -> new PostScore(lambdas.length, categories.get(id)));
+            score.setRemote(values);
+            score.categoryId = categories.get(postId);
+        });
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        writeSnapshot();
+    }
+
+    private void rescale(double now) {
+        lock.writeLock().lock();
+        try {
+            if (maxExponent(now) <= MAX_EXPONENT) {
+                return;
+            }
+            double[] factors = new double[lambdas.length];
+            for (int i = 0; i < lambdas.length; i++) {
+                factors[i] = Math.exp(-lambdas[i] * (now - landmark));
+            }
+            for (PostScore score : scores.values()) {
+                score.scale(factors);
+            }
+            for (int i = 0; i < lambdas.length; i++) {
+                global[i].rescale(factors[i]);
+                for (TopK[] category : byCategory.values()) {
+                    category[i].rescale(factors[i]);
+                }
+            }
+            landmark = now;
+            logger.debug("Trending scores rescaled to a new landmark");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildTopKs() {
+        lock.writeLock().lock();
+        try {
+            rebuildTopKsLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildTopKsLocked() {
+        TopK[] rebuilt = newTopKs();
+        byCategory.clear();
+        for (Map.Entry<Long, PostScore> entry : scores.entrySet()) {
+            PostScore score = entry.getValue();
+            double[] values = score.values();
+            TopK[] category = score.categoryId == null ? null
+                    : byCategory.computeIfAbsent(score.categoryId, id -> newTopKs());
+            for (int i = 0; i < values.length; i++) {
+                rebuilt[i].offer(entry.getKey(), values[i]);
+                if (category != null) {
+                    category[i].offer(entry.getKey(), values[i]);
+                }
+            }
+        }
+        global = rebuilt;
+    }
+
+    private double maxExponent(double now) {
+        double max = 0;
+        for (double lambda : lambdas) {
+            max = Math.max(max, lambda * (now - landmark));
+        }
+        return max;
+    }
+
+    private TopK[] newTopKs() {
+        TopK[] tops = new TopK[lambdas.length];
+        for (int i = 0; i < tops.length; i++) {
+            tops[i] = new TopK(topK);
+        }
+        return tops;
+    }
+
+    private double[] decay(double[] forward, double now) {
+        double[] decayed = new double[forward.length];
+        for (int i = 0; i < forward.length; i++) {
+            decayed[i] = forward[i] * Math.exp(-lambdas[i] * (now - landmark));
+        }
+        return decayed;
+    }
+
+    private static boolean anyAlive(double[] decayed) {
+        for (double value : decayed) {
+            if (value >= MIN_SCORE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double nowSeconds() {
+        return clock.millis() / 1000.0;
+    }
+
+    // "30m", "24h", "7d"
+    static Duration parseWindow(String window) {
+        if (window.length() < 2) {
+            throw new IllegalStateException("Janela de trending inválida: " + window);
+        }
+        long amount = Long.parseLong(window.substring(0, window.length() - 1));
+        return switch (window.charAt(window.length() - 1)) {
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            case 'd' -> Duration.ofDays(amount);
+            default -> throw new IllegalStateException("Janela de trending inválida: " + window);
+        };
+    }
+
+    /**
+     * Pontuações de um post (uma por janela) na escala da referência atual: a parte dos eventos
+     * desta instância e a soma dos snapshots das demais.
+     */
+    private static final class PostScore {
+        private final double[] forward;
+        private final double[] remote;
+        private volatile Long categoryId;
+
+        PostScore(int windows, Long categoryId) {
+            this.forward = new double[windows];
+            this.remote = new double[windows];
+            this.categoryId = categoryId;
+        }
+
+        synchronized double[] add(double[] increments) {
+            for (int i = 0; i < forward.length; i++) {
+                forward[i] += increments[i];
+            }
+            return values();
+        }
+
+        synchronized void setRemote(double[] values) {
+            System.arraycopy(values, 0, remote, 0, remote.length);
+        }
+
+        synchronized void scale(double[] factors) {
+            for (int i = 0; i < forward.length; i++) {
+                forward[i] *= factors[i];
+                remote[i] *= factors[i];
+            }
+        }
+
+        synchronized double[] local() {
+            return forward.clone();
+        }
+
+        synchronized double[] values() {
+            double[] combined = new double[forward.length];
+            for (int i = 0; i < combined.length; i++) {
+                combined[i] = forward[i] + remote[i];
+            }
+            return combined;
+        }
+    }
+
+    /**
+     * Linha de snapshot de outra instância, ainda na escala de quando foi gravada.
+     */
+    record RemoteRow(long postId, int window, double score, double snapshotAt, Long categoryId) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.politicabr.blog.util;
+
+import com.politicabr.blog.exception.BadRequestException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Codifica a posição de paginação por cursor, (chave de ordenação, id), em um token opaco.
+ * Exemplo: (2024-05-01T10:00, 42) -> "djE6MTcxNDU1NzYwMDowOjQy"
+ */
+@Component
+public class CursorCodec {
+
+    private static final String VERSION = "v1";
+
+    // Posição anterior a qualquer linha em ordem decrescente (primeira página)
+    public static final Position FIRST_PAGE = new Position(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public String encode(LocalDateTime sortKey, Long id) {
+        String raw = VERSION + ":" + sortKey.toEpochSecond(ZoneOffset.UTC) + ":" + sortKey.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor vazio ou nulo indica a primeira página.
+     */
+    public Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException("Cursor de paginação inválido");
+            }
+            LocalDateTime sortKey = LocalDateTime.ofEpochSecond(
+                    Long.parseLong(parts[1]), Integer.parseInt(parts[2]), ZoneOffset.UTC);
+            return new Position(sortKey, Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            throw new BadRequestException("Cursor de paginação inválido");
+        }
+    }
+
+    public static final class Position {
+        private final LocalDateTime sortKey;
+        private final Long id;
+
+        public Position(LocalDateTime sortKey, Long id) {
+            this.sortKey = sortKey;
+            this.id = id;
+        }
+
+        public LocalDateTime getSortKey() {
+            return sortKey;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.politicabr.blog.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Sketch HyperLogLog com precisão 12 (4.096 registradores, erro padrão de ~1,6%).
+ *
+ * Estima a quantidade de elementos distintos a partir de hashes de 64 bits. Sketches
+ * de dias ou de instâncias diferentes se combinam com {@link #merge(HyperLogLog)}
+ * (máximo registrador a registrador) sem perder precisão.
+ *
+ * {@link #toBytes()} usa a forma esparsa (pares índice/valor) enquanto poucos
+ * registradores estão ocupados e a forma densa (6 bits por registrador, 3 KB) depois.
+ */
+public class HyperLogLog {
+
+    private static final int PRECISION = 12;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final int MAX_RANK = 64 - PRECISION + 1;
+    private static final int DENSE_BYTES = REGISTERS * 6 / 8;
+
+    private static final byte FORMAT_SPARSE = 1;
+    private static final byte FORMAT_DENSE = 2;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTERS];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public synchronized void add(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        int rank = Math.min(MAX_RANK, Long.numberOfLeadingZeros(hash << PRECISION) + 1);
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        // Cópia fora do lock deste sketch: merges cruzados não se bloqueiam mutuamente
+        byte[] source = other.snapshot();
+        synchronized (this) {
+            for (int i = 0; i < REGISTERS; i++) {
+                if (source[i] > registers[i]) {
+                    registers[i] = source[i];
+                }
+            }
+        }
+    }
+
+    public long estimate() {
+        byte[] snapshot = snapshot();
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : snapshot) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        // Correção para cardinalidades pequenas: contagem linear pelos registradores vazios
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        byte[] snapshot = snapshot();
+        int occupied = 0;
+        for (byte register : snapshot) {
+            if (register != 0) {
+                occupied++;
+            }
+        }
+
+        // Cada par esparso ocupa até 3 bytes (delta do índice em varint + valor)
+        if (occupied * 3 < DENSE_BYTES) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(1 + occupied * 3);
+            out.write(FORMAT_SPARSE);
+            int previous = 0;
+            for (int i = 0; i < REGISTERS; i++) {
+                if (snapshot[i] != 0) {
+                    writeVarInt(out, i - previous);
+                    out.write(snapshot[i]);
+                    previous = i;
+                }
+            }
+            return out.toByteArray();
+        }
+
+        byte[] dense = new byte[1 + DENSE_BYTES];
+        dense[0] = FORMAT_DENSE;
+        for (int i = 0; i < REGISTERS; i++) {
+            int bit = i * 6;
+            int value = snapshot[i] & 0x3F;
+            int position = 1 + (bit >>> 3);
+            int offset = bit & 7;
+            dense[position] |= (byte) (value << offset);
+            if (offset > 2) {
+                dense[position + 1] |= (byte) (value >>> (8 - offset));
+            }
+        }
+        return dense;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        byte[] registers = new byte[REGISTERS];
+        if (bytes == null || bytes.length == 0) {
+            return new HyperLogLog(registers);
+        }
+
+        if (bytes[0] == FORMAT_SPARSE) {
+            int position = 1;
+            int index = 0;
+            while (position < bytes.length) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                index += delta;
+                registers[index] = bytes[position++];
+            }
+        } else if (bytes[0] == FORMAT_DENSE && bytes.length == 1 + DENSE_BYTES) {
+            for (int i = 0; i < REGISTERS; i++) {
+                int bit = i * 6;
+                int position = 1 + (bit >>> 3);
+                int offset = bit & 7;
+                int value = (bytes[position] & 0xFF) >>> offset;
+                if (offset > 2) {
+                    value |= (bytes[position + 1] & 0xFF) << (8 - offset);
+                }
+                registers[i] = (byte) (value & 0x3F);
+            }
+        } else {
+            throw new IllegalArgumentException("Formato de sketch HyperLogLog inválido");
+        }
+        return new HyperLogLog(registers);
+    }
+
+    private synchronized byte[] snapshot() {
+        return Arrays.copyOf(registers, REGISTERS);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
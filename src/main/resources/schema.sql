@@ -0,0 +1,132 @@
+-- Objetos que o Hibernate (ddl-auto=update) não gera. Executado após o Hibernate
+-- (spring.jpa.defer-datasource-initialization) a cada inicialização: tudo aqui é idempotente.
+-- Comandos separados por "^^^ END OF SCRIPT ^^^" (spring.sql.init.separator): corpos de
+-- funções PL/pgSQL contêm ";".
+
+-- Vetor de busca dos posts: título (A), resumo (B) e conteúdo (C), mantido pelo próprio
+-- PostgreSQL em INSERT/UPDATE e indexado com GIN
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese'::regconfig, coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('portuguese'::regconfig, coalesce(excerpt, '')), 'B') ||
+        setweight(to_tsvector('portuguese'::regconfig, coalesce(content, '')), 'C')
+    ) STORED;
+^^^ END OF SCRIPT ^^^
+
+CREATE INDEX IF NOT EXISTS idx_post_search_vector ON posts USING GIN (search_vector);
+^^^ END OF SCRIPT ^^^
+
+-- Sketches HyperLogLog diários de leitores únicos por post e por categoria (ReaderStatsService)
+CREATE TABLE IF NOT EXISTS reader_sketches (
+    scope    VARCHAR(16) NOT NULL,
+    scope_id BIGINT      NOT NULL,
+    day      DATE        NOT NULL,
+    sketch   BYTEA       NOT NULL,
+    PRIMARY KEY (scope, scope_id, day)
+);
+^^^ END OF SCRIPT ^^^
+
+CREATE INDEX IF NOT EXISTS idx_reader_sketches_day ON reader_sketches (day);
+^^^ END OF SCRIPT ^^^
+
+-- Snapshot das pontuações de trending (TrendingService), já decaídas até snapshot_at; cada
+-- instância grava só a parte dos próprios eventos (node_id) e soma as das demais
+CREATE TABLE IF NOT EXISTS trending_scores (
+    node_id     VARCHAR(64)      NOT NULL,
+    post_id     BIGINT           NOT NULL,
+    window_name VARCHAR(16)      NOT NULL,
+    score       DOUBLE PRECISION NOT NULL,
+    snapshot_at TIMESTAMPTZ      NOT NULL,
+    PRIMARY KEY (node_id, post_id, window_name)
+);
+^^^ END OF SCRIPT ^^^
+
+-- Índices cobrindo a primeira fase dos filtros por tag e categoria (PostRepository.findIdsBy*):
+-- os ids da página saem só do índice, sem ler as linhas de posts
+CREATE INDEX IF NOT EXISTS idx_post_tags_tag_post ON post_tags (tag_id, post_id);
+^^^ END OF SCRIPT ^^^
+
+CREATE INDEX IF NOT EXISTS idx_post_published_id_created ON posts (id) INCLUDE (created_at) WHERE published = true;
+^^^ END OF SCRIPT ^^^
+
+CREATE INDEX IF NOT EXISTS idx_post_published_category_created ON posts (category_id, created_at, id) WHERE published = true;
+^^^ END OF SCRIPT ^^^
+
+-- Contadores de posts publicados por tag e por categoria (published_post_count, lidos pelos
+-- mappers e listagens). Mantidos na mesma transação que altera posts ou post_tags; o
+-- PostCounterReconciler corrige eventuais desvios em lote.
+ALTER TABLE tags ADD COLUMN IF NOT EXISTS published_post_count BIGINT NOT NULL DEFAULT 0;
+^^^ END OF SCRIPT ^^^
+
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS published_post_count BIGINT NOT NULL DEFAULT 0;
+^^^ END OF SCRIPT ^^^
+
+-- Publicação, despublicação, troca de categoria e remoção do post. As tags do post são
+-- ajustadas aqui só quando o status de publicação muda; vínculos novos ou removidos são
+-- contados pelo trigger de post_tags.
+CREATE OR REPLACE FUNCTION posts_published_counters() RETURNS trigger AS $$
+DECLARE
+    old_counted BOOLEAN := CASE WHEN TG_OP = 'INSERT' THEN false ELSE OLD.published END;
+    new_counted BOOLEAN := CASE WHEN TG_OP = 'DELETE' THEN false ELSE NEW.published END;
+BEGIN
+    IF old_counted AND OLD.category_id IS NOT NULL
+            AND (NOT new_counted OR NEW.category_id IS DISTINCT FROM OLD.category_id) THEN
+        UPDATE categories SET published_post_count = published_post_count - 1 WHERE id = OLD.category_id;
+    END IF;
+    IF new_counted AND NEW.category_id IS NOT NULL
+            AND (NOT old_counted OR NEW.category_id IS DISTINCT FROM OLD.category_id) THEN
+        UPDATE categories SET published_post_count = published_post_count + 1 WHERE id = NEW.category_id;
+    END IF;
+
+    IF TG_OP = 'UPDATE' AND old_counted <> new_counted THEN
+        UPDATE tags SET published_post_count = published_post_count + CASE WHEN new_counted THEN 1 ELSE -1 END
+        WHERE id IN (SELECT tag_id FROM post_tags WHERE post_id = NEW.id);
+    ELSIF TG_OP = 'DELETE' AND old_counted THEN
+        UPDATE tags SET published_post_count = published_post_count - 1
+        WHERE id IN (SELECT tag_id FROM post_tags WHERE post_id = OLD.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+^^^ END OF SCRIPT ^^^
+
+-- Criado só quando falta: recriar a cada inicialização tomaria lock exclusivo em posts. Mudanças
+-- na lógica entram pelo CREATE OR REPLACE FUNCTION acima, sem tocar no trigger.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger
+                   WHERE tgname = 'trg_posts_published_counters' AND tgrelid = 'posts'::regclass) THEN
+        CREATE TRIGGER trg_posts_published_counters
+            AFTER INSERT OR DELETE OR UPDATE OF published, category_id ON posts
+            FOR EACH ROW EXECUTE FUNCTION posts_published_counters();
+    END IF;
+END;
+$$;
+^^^ END OF SCRIPT ^^^
+
+-- Tags adicionadas ou removidas de um post publicado
+CREATE OR REPLACE FUNCTION post_tags_published_counters() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE tags SET published_post_count = published_post_count + 1
+        WHERE id = NEW.tag_id AND EXISTS (SELECT 1 FROM posts WHERE id = NEW.post_id AND published);
+    ELSE
+        UPDATE tags SET published_post_count = published_post_count - 1
+        WHERE id = OLD.tag_id AND EXISTS (SELECT 1 FROM posts WHERE id = OLD.post_id AND published);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+^^^ END OF SCRIPT ^^^
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger
+                   WHERE tgname = 'trg_post_tags_published_counters' AND tgrelid = 'post_tags'::regclass) THEN
+        CREATE TRIGGER trg_post_tags_published_counters
+            AFTER INSERT OR DELETE ON post_tags
+            FOR EACH ROW EXECUTE FUNCTION post_tags_published_counters();
+    END IF;
+END;
+$$;
+^^^ END OF SCRIPT ^^^
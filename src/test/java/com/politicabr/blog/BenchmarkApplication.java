@@ -0,0 +1,62 @@
+package com.politicabr.blog;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sobe a aplicação completa contra um PostgreSQL descartável (Testcontainers)
+ * para benchmarks JMH que precisam do contexto Spring real.
+ */
+public final class BenchmarkApplication implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(PostgreSQLContainer<?> postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    public static BenchmarkApplication start(String... extraProperties) {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "server.port=0",
+                "spring.jpa.show-sql=false",
+                "logging.level.com.politicabr=WARN",
+                "logging.level.org.springframework.web=WARN",
+                "logging.level.org.springframework.security=WARN",
+                // Custo fixo: pula a calibração do BCrypt na inicialização
+                "security.password.bcrypt.cost=4"
+        ));
+        properties.addAll(Arrays.asList(extraProperties));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApplication.class)
+                .properties(properties.toArray(String[]::new))
+                .run();
+        return new BenchmarkApplication(postgres, context);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        postgres.stop();
+    }
+}
@@ -0,0 +1,61 @@
+package com.politicabr.blog;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Popula posts sintéticos diretamente em SQL (generate_series) para benchmarks.
+ * Um milhão de posts leva poucos segundos; via JPA levaria minutos.
+ */
+public final class PostDataSeeder {
+
+    private PostDataSeeder() {
+    }
+
+    public static void seed(JdbcTemplate jdbc, int authors, int categories, int tags, int posts, int tagsPerPost) {
+        jdbc.update("""
+                INSERT INTO users (username, email, password, first_name, last_name, role, active, email_verified, created_at)
+                SELECT 'autor' || g, 'autor' || g || '@politicabr.com', 'x', 'Autor', 'Seed', 'AUTHOR', true, true, now()
+                FROM generate_series(1, ?) g
+                """, authors);
+
+        jdbc.update("""
+                INSERT INTO categories (name, slug, active, display_order, created_at)
+                SELECT 'Categoria ' || g, 'categoria-' || g, true, g, now()
+                FROM generate_series(1, ?) g
+                """, categories);
+
+        jdbc.update("""
+                INSERT INTO tags (name, slug, created_at)
+                SELECT 'tag' || g, 'tag-' || g, now()
+                FROM generate_series(1, ?) g
+                """, tags);
+
+        // Datas espalhadas por ~3 anos; 90% publicados, 2% em destaque
+        jdbc.update("""
+                INSERT INTO posts (title, excerpt, content, slug, published, featured, view_count,
+                                   created_at, published_at, author_id, category_id)
+                SELECT 'Post ' || g,
+                       'Resumo do post ' || g,
+                       'Conteúdo sobre política, economia e eleições número ' || g,
+                       'post-' || g,
+                       g % 10 <> 0,
+                       g % 50 = 0,
+                       (g * 7919) % 10000,
+                       ts, ts,
+                       (SELECT min(id) FROM users) + (g % ?),
+                       (SELECT min(id) FROM categories) + (g % ?)
+                FROM generate_series(1, ?) g,
+                     LATERAL (SELECT now() - (g * interval '90 seconds') AS ts) d
+                """, authors, categories, posts);
+
+        if (tagsPerPost > 0) {
+            jdbc.update("""
+                    INSERT INTO post_tags (post_id, tag_id)
+                    SELECT DISTINCT p.id, (SELECT min(id) FROM tags) + ((p.id * 31 + k * 17) % ?)
+                    FROM posts p, generate_series(1, ?) k
+                    """, tags, tagsPerPost);
+        }
+
+        jdbc.execute("ANALYZE");
+    }
+}
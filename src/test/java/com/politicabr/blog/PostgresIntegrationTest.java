@@ -0,0 +1,23 @@
+package com.politicabr.blog;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base para testes de integração que dependem de recursos do PostgreSQL
+ * (SKIP LOCKED, índices, planos de execução). O container é compartilhado pela classe.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "security.password.bcrypt.cost=4"
+})
+@Testcontainers
+public abstract class PostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+}
@@ -0,0 +1,179 @@
+package com.politicabr.blog.cache;
+
+import com.politicabr.blog.dto.CategoryDTO;
+import com.politicabr.blog.dto.TagDTO;
+import com.politicabr.blog.entity.Category;
+import com.politicabr.blog.entity.Tag;
+import com.politicabr.blog.mapper.CategoryMapper;
+import com.politicabr.blog.mapper.TagMapper;
+import com.politicabr.blog.repository.CategoryRepository;
+import com.politicabr.blog.repository.TagRepository;
+import com.politicabr.blog.service.CategoryService;
+import com.politicabr.blog.service.TagService;
+import com.politicabr.blog.util.SlugUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Os métodos @Cacheable de CategoryService e TagService só chegam ao repositório
+ * na primeira chamada; as seguintes são servidas pelo Caffeine.
+ */
+@SpringJUnitConfig
+class CacheConfigTest {
+
+    @Configuration
+    @Import({CacheConfig.class, CacheReloaders.class, CategoryService.class, TagService.class})
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+    }
+
+    @MockitoBean
+    private CategoryRepository categoryRepository;
+
+    @MockitoBean
+    private CategoryMapper categoryMapper;
+
+    @MockitoBean
+    private TagRepository tagRepository;
+
+    @MockitoBean
+    private TagMapper tagMapper;
+
+    @MockitoBean
+    private SlugUtil slugUtil;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        clearInvocations(categoryRepository, tagRepository);
+
+        Category category = new Category();
+        Tag tag = new Tag();
+        when(categoryRepository.findByActiveTrueOrderByDisplayOrderAsc()).thenReturn(List.of(category));
+        when(categoryRepository.findActiveCategoriesWithPostCount()).thenReturn(List.<Object[]>of(new Object[]{category, 3L}));
+        when(tagRepository.findAllWithPostCount()).thenReturn(List.<Object[]>of(new Object[]{tag, 2L}));
+        when(tagRepository.findPopularTags(any(Limit.class))).thenReturn(List.<Object[]>of(new Object[]{tag, 2L}));
+        when(categoryMapper.toDTO(any())).thenAnswer(invocation -> new CategoryDTO());
+        when(tagMapper.toDTO(any())).thenAnswer(invocation -> new TagDTO());
+    }
+
+    @Test
+    void categoryListsHitTheRepositoryOnce() {
+        for (int i = 0; i < 3; i++) {
+            categoryService.getAllActiveCategories();
+            categoryService.getCategoriesWithPostCount();
+        }
+
+        verify(categoryRepository, times(1)).findByActiveTrueOrderByDisplayOrderAsc();
+        verify(categoryRepository, times(1)).findActiveCategoriesWithPostCount();
+        assertEquals(3L, categoryService.getCategoriesWithPostCount().get(0).getPostCount());
+    }
+
+    @Test
+    void tagListsHitTheRepositoryOncePerKey() {
+        for (int i = 0; i < 3; i++) {
+            tagService.getAllTags();
+            tagService.getPopularTags(10);
+        }
+        tagService.getPopularTags(20);
+
+        verify(tagRepository, times(1)).findAllWithPostCount();
+        verify(tagRepository, times(1)).findPopularTags(Limit.of(10));
+        verify(tagRepository, times(1)).findPopularTags(Limit.of(20));
+    }
+
+    @Test
+    void concurrentMissesRunTheAggregateOnce() throws Exception {
+        when(categoryRepository.findActiveCategoriesWithPostCount()).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return List.<Object[]>of(new Object[]{new Category(), 3L});
+        });
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<CategoryDTO>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return categoryService.getCategoriesWithPostCount();
+                }));
+            }
+            start.countDown();
+            for (Future<List<CategoryDTO>> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(categoryRepository, times(1)).findActiveCategoriesWithPostCount();
+        assertTrue(meterRegistry.get("cache.coalesced.waits").tag("cache", "categoriesWithCount").counter().count() > 0);
+    }
+
+    @Test
+    void cachesAreBoundedCaffeineCachesWithStats() {
+        for (String name : List.of("categories", "categoriesWithCount", "tags", "popularTags")) {
+            Cache cache = cacheManager.getCache(name);
+            CaffeineCache caffeineCache = assertInstanceOf(CaffeineCache.class, cache);
+            assertTrue(caffeineCache.getNativeCache().policy().eviction().isPresent(), name);
+            assertTrue(caffeineCache.getNativeCache().policy().isRecordingStats(), name);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.politicabr.blog.cache;
+
+import com.politicabr.blog.PostgresIntegrationTest;
+import com.politicabr.blog.dto.TagDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheInvalidationBusTest extends PostgresIntegrationTest {
+
+    private static final String CHANNEL = "cache_invalidation";
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private CacheInvalidationListener cacheInvalidationListener;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void waitForListener() throws InterruptedException {
+        await(cacheInvalidationListener::isListening);
+    }
+
+    @Test
+    void invalidationsFromAnotherNodeAreApplied() throws InterruptedException {
+        Cache tags = cacheManager.getCache("tag");
+        tags.put("id:1", "Congresso");
+        tags.put("id:2", "Economia");
+
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, "outra-instancia\ntag\tid:1");
+
+        await(() -> tags.get("id:1") == null);
+        assertNotNull(tags.get("id:2"));
+    }
+
+    @Test
+    void remoteIdInvalidationAlsoEvictsTheSlugCachedHere() throws InterruptedException {
+        Cache tags = cacheManager.getCache("tag");
+        tags.put("id:4", new TagDTO(4L, "Reforma", "reforma-antiga", 0L));
+        tags.put("slug:reforma-antiga", new TagDTO(4L, "Reforma", "reforma-antiga", 0L));
+
+        // A outra instância renomeou a tag; a mensagem só traz o id e o slug novo
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, "outra-instancia\ntag\tid:4\ntag\tslug:reforma");
+
+        await(() -> tags.get("slug:reforma-antiga") == null);
+        assertNull(tags.get("id:4"));
+    }
+
+    @Test
+    void everyConsumerOfATargetReceivesRemoteInvalidations() throws InterruptedException {
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        cacheInvalidationBus.register("indice-teste", first::add, () -> { });
+        cacheInvalidationBus.register("indice-teste", second::add, () -> { });
+
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, "outra-instancia\nindice-teste\t42");
+
+        await(() -> first.contains("42") && second.contains("42"));
+    }
+
+    @Test
+    void ownInvalidationsAreIgnored() throws InterruptedException {
+        Cache tags = cacheManager.getCache("tag");
+        tags.put("id:3", "Senado");
+
+        cacheInvalidationBus.publish("tag", "id:3");
+        Thread.sleep(500);
+
+        assertNotNull(tags.get("id:3"));
+    }
+
+    @Test
+    void invalidationsAreSentOnceOnCommitAndNotOnRollback() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                cacheInvalidationBus.publish("tag", "id:7");
+                cacheInvalidationBus.publish("tag", "id:7");
+                cacheInvalidationBus.publish("tags", CacheInvalidationBus.ALL_KEYS);
+            });
+            List<String> committed = drain(pgConnection);
+            assertEquals(1, committed.size());
+            assertTrue(committed.get(0).endsWith("\ntag\tid:7\ntags\t*"), committed.get(0));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                cacheInvalidationBus.publish("tag", "id:8");
+                status.setRollbackOnly();
+            });
+            assertEquals(List.of(), drain(pgConnection));
+        }
+    }
+
+    private static List<String> drain(PGConnection connection) throws Exception {
+        List<String> payloads = new ArrayList<>();
+        PGNotification[] notifications = connection.getNotifications(500);
+        if (notifications != null) {
+            for (PGNotification notification : notifications) {
+                payloads.add(notification.getParameter());
+            }
+        }
+        return payloads;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condição não atingida em 10s");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.politicabr.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.politicabr.blog.dto.CategoryDTO;
+import com.politicabr.blog.dto.TagDTO;
+import com.politicabr.blog.entity.Category;
+import com.politicabr.blog.entity.Tag;
+import com.politicabr.blog.event.EntityChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TaxonomyCacheUpdaterTest {
+
+    private final AtomicInteger popularLoads = new AtomicInteger();
+
+    private CaffeineCacheManager cacheManager;
+    private TaxonomyCacheUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(TaxonomyCacheUpdater.POPULAR_TAGS, Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .build(key -> {
+                    popularLoads.incrementAndGet();
+                    return List.of(new TagDTO(2L, "Economia", "economia", 9L));
+                }));
+        updater = new TaxonomyCacheUpdater();
+        ReflectionTestUtils.setField(updater, "cacheManager", cacheManager);
+
+        cacheManager.getCache(TaxonomyCacheUpdater.TAGS).put(SimpleKey.EMPTY, List.of(
+                new TagDTO(1L, "Congresso", "congresso", 4L),
+                new TagDTO(2L, "Economia", "economia", 9L)));
+        cacheManager.getCache(TaxonomyCacheUpdater.POPULAR_TAGS).put(10, List.of(
+                new TagDTO(2L, "Economia", "economia", 9L),
+                new TagDTO(1L, "Congresso", "congresso", 4L)));
+        cacheManager.getCache(TaxonomyCacheUpdater.TAG).put("id:1", new TagDTO(1L, "Congresso", "congresso", 4L));
+        cacheManager.getCache(TaxonomyCacheUpdater.TAG).put("slug:congresso", new TagDTO(1L, "Congresso", "congresso", 4L));
+        cacheManager.getCache(TaxonomyCacheUpdater.TAG).put("id:2", new TagDTO(2L, "Economia", "economia", 9L));
+    }
+
+    @Test
+    void renamedTagIsPatchedInPlaceAndOnlyItsEntriesAreEvicted() {
+        List<?> before = cacheManager.getCache(TaxonomyCacheUpdater.TAGS).get(SimpleKey.EMPTY, List.class);
+
+        updater.onEntityChanged(event(tag(1L, "Senado", "senado"), EntityChangedEvent.ChangeType.UPDATED));
+
+        @SuppressWarnings("unchecked")
+        List<TagDTO> tags = cacheManager.getCache(TaxonomyCacheUpdater.TAGS).get(SimpleKey.EMPTY, List.class);
+        assertEquals(List.of("Economia", "Senado"), tags.stream().map(TagDTO::getName).toList());
+        assertEquals(4L, tags.get(1).getPostCount());
+        // Quem leu antes continua com a lista anterior, intacta
+        assertEquals("Congresso", ((TagDTO) before.get(0)).getName());
+
+        assertNull(cacheManager.getCache(TaxonomyCacheUpdater.TAG).get("id:1"));
+        assertNull(cacheManager.getCache(TaxonomyCacheUpdater.TAG).get("slug:congresso"));
+        assertNotNull(cacheManager.getCache(TaxonomyCacheUpdater.TAG).get("id:2"));
+    }
+
+    @Test
+    void popularTagsAreRecomputedInBackground() {
+        updater.onEntityChanged(event(tag(1L, "Congresso", "congresso"), EntityChangedEvent.ChangeType.DELETED));
+
+        assertEquals(1, popularLoads.get());
+        @SuppressWarnings("unchecked")
+        List<TagDTO> popular = cacheManager.getCache(TaxonomyCacheUpdater.POPULAR_TAGS).get(10, List.class);
+        assertEquals(List.of(2L), popular.stream().map(TagDTO::getId).toList());
+    }
+
+    @Test
+    void deactivatedCategoryLeavesTheListsAndUnrelatedCachesAreKept() {
+        List<CategoryDTO> categories = List.of(
+                new CategoryDTO(1L, "Política", "politica", null, null, null, 3L),
+                new CategoryDTO(2L, "Economia", "economia", null, null, null, 5L));
+        cacheManager.getCache(TaxonomyCacheUpdater.CATEGORIES).put(SimpleKey.EMPTY, categories);
+        Object tags = cacheManager.getCache(TaxonomyCacheUpdater.TAGS).get(SimpleKey.EMPTY).get();
+
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Política");
+        category.setSlug("politica");
+        category.setActive(false);
+        updater.onEntityChanged(event(category, EntityChangedEvent.ChangeType.UPDATED));
+
+        @SuppressWarnings("unchecked")
+        List<CategoryDTO> patched = cacheManager.getCache(TaxonomyCacheUpdater.CATEGORIES).get(SimpleKey.EMPTY, List.class);
+        assertEquals(List.of(2L), patched.stream().map(CategoryDTO::getId).toList());
+        assertSame(tags, cacheManager.getCache(TaxonomyCacheUpdater.TAGS).get(SimpleKey.EMPTY).get());
+    }
+
+    private static Tag tag(Long id, String name, String slug) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(name);
+        tag.setSlug(slug);
+        return tag;
+    }
+
+    private static EntityChangedEvent event(Object entity, EntityChangedEvent.ChangeType changeType) {
+        return new EntityChangedEvent(entity.getClass(), null, changeType, entity);
+    }
+}
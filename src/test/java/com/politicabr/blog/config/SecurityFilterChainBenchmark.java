@@ -0,0 +1,107 @@
+package com.politicabr.blog.config;
+
+import com.politicabr.blog.BenchmarkApplication;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição da cadeia de segurança para um GET público anônimo:
+ * a via rápida contra a cadeia completa (filtro JWT, contexto de segurança, usuário
+ * anônimo, autorização) que atendia essas requisições antes.
+ *
+ * Requer Docker (PostgreSQL via Testcontainers). Executar com:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.politicabr.blog.config.SecurityFilterChainBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    private BenchmarkApplication application;
+    private List<Filter> fastLaneFilters;
+    private List<Filter> fullChainFilters;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+
+        List<SecurityFilterChain> chains = application.getBean(FilterChainProxy.class).getFilterChains();
+        MockHttpServletRequest probe = anonymousRead();
+        fastLaneFilters = chains.stream()
+                .filter(chain -> chain.matches(probe))
+                .findFirst()
+                .orElseThrow()
+                .getFilters();
+        // Última cadeia: a que atendia todas as requisições antes da via rápida
+        fullChainFilters = chains.get(chains.size() - 1).getFilters();
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse fastLane() throws Exception {
+        return run(fastLaneFilters);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse fullChain() throws Exception {
+        return run(fullChainFilters);
+    }
+
+    private static MockHttpServletResponse run(List<Filter> filters) throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new InOrder(filters).doFilter(anonymousRead(), response);
+        return response;
+    }
+
+    private static MockHttpServletRequest anonymousRead() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts/42");
+        request.setServletPath("/api/v1/posts/42");
+        return request;
+    }
+
+    // Executa os filtros de uma única cadeia em sequência, como o FilterChainProxy faz
+    private static final class InOrder implements FilterChain {
+        private final List<Filter> filters;
+        private int position;
+
+        private InOrder(List<Filter> filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            if (position < filters.size()) {
+                filters.get(position++).doFilter(request, response, this);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecurityFilterChainBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
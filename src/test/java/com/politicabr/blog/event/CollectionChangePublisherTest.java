@@ -0,0 +1,72 @@
+package com.politicabr.blog.event;
+
+import com.politicabr.blog.PostDataSeeder;
+import com.politicabr.blog.PostgresIntegrationTest;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.entity.Tag;
+import com.politicabr.blog.repository.PostRepository;
+import com.politicabr.blog.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Trocar só as tags de um post não altera colunas de posts, mas precisa gerar o evento de alteração
+ * do post, do qual dependem a busca, os relacionados e a invalidação entre instâncias.
+ */
+@RecordApplicationEvents
+class CollectionChangePublisherTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Long postId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE post_tags, posts, tags, categories, users RESTART IDENTITY CASCADE");
+        PostDataSeeder.seed(jdbcTemplate, 1, 1, 3, 1, 1);
+        postId = jdbcTemplate.queryForObject("SELECT min(id) FROM posts", Long.class);
+    }
+
+    @Test
+    void retaggingAPostPublishesAnUpdate() {
+        events.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Post post = postRepository.findById(postId).orElseThrow();
+            Tag other = tagRepository.findAll().stream()
+                    .filter(tag -> !post.getTags().contains(tag))
+                    .findFirst().orElseThrow();
+            post.getTags().clear();
+            post.getTags().add(other);
+        });
+
+        List<EntityChangedEvent> changes = events.stream(EntityChangedEvent.class)
+                .filter(event -> event.isAbout(Post.class))
+                .toList();
+        assertEquals(1, changes.size());
+        assertEquals(postId, changes.get(0).getEntityId());
+        assertEquals(EntityChangedEvent.ChangeType.UPDATED, changes.get(0).getChangeType());
+    }
+}
@@ -0,0 +1,192 @@
+package com.politicabr.blog.related;
+
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.dto.RelatedPostDTO;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.event.EntityChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pontuação (Jaccard ponderado por IDF + categoria + recência), corte do top-N, complemento
+ * por categoria e atualização incremental, com o banco substituído por linhas em memória.
+ */
+class RelatedPostsIndexTest {
+
+    private static final double RECENCY = 0.1;
+    private static final double CATEGORY = 0.2;
+
+    private final Map<Long, Object[]> posts = new LinkedHashMap<>();
+    private final Map<Long, long[]> tags = new LinkedHashMap<>();
+
+    private RelatedPostsIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RelatedPostsIndex();
+        ReflectionTestUtils.setField(index, "jdbcTemplate", fakeJdbcTemplate());
+        ReflectionTestUtils.setField(index, "cacheInvalidationBus", mock(CacheInvalidationBus.class));
+        ReflectionTestUtils.setField(index, "size", 10);
+        ReflectionTestUtils.setField(index, "maxTagPosts", 5000);
+        ReflectionTestUtils.setField(index, "fullRebuildThreshold", 500);
+        ReflectionTestUtils.setField(index, "parallelism", 2);
+        index.createPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void scoresByIdfWeightedTagOverlap() {
+        post(1, null, 1, 2);
+        post(2, null, 1, 2);
+        post(3, null, 1);
+        post(4, null, 3);
+        index.rebuild();
+
+        List<RelatedPostDTO> related = index.getRelated(1, 10);
+
+        assertEquals(List.of(2L, 3L), ids(related));
+        // Mesmas tags: similaridade 1; só a tag 1 (em 3 de 4 posts) em comum: idf1 / (idf1 + idf2)
+        double idf1 = Math.log(1 + 4.0 / 3);
+        double idf2 = Math.log(1 + 4.0 / 2);
+        assertEquals(1.0 + RECENCY, related.get(0).getScore(), 1e-3);
+        assertEquals(idf1 / (idf1 + idf2) + RECENCY, related.get(1).getScore(), 1e-3);
+    }
+
+    @Test
+    void sameCategoryBreaksTiesAndFillsShortLists() {
+        post(1, 10L, 1);
+        post(2, 10L, 1);
+        post(3, 20L, 1);
+        post(4, 10L);
+        index.rebuild();
+
+        List<RelatedPostDTO> related = index.getRelated(1, 10);
+
+        // 2 e 3 empatam nas tags; 2 ganha pela categoria. 4 não tem tags e entra pela categoria
+        assertEquals(List.of(2L, 3L, 4L), ids(related));
+        assertEquals(CATEGORY + RECENCY, related.get(2).getScore(), 1e-3);
+    }
+
+    @Test
+    void keepsOnlyTheTopN() {
+        ReflectionTestUtils.setField(index, "size", 3);
+        post(1, null, 1, 2, 3, 4);
+        post(2, null, 1);
+        post(3, null, 1, 2);
+        post(4, null, 1, 2, 3);
+        post(5, null, 1, 2, 3, 4);
+        post(6, null, 4);
+        index.rebuild();
+
+        assertEquals(List.of(5L, 4L, 3L), ids(index.getRelated(1, 10)));
+        assertEquals(List.of(5L), ids(index.getRelated(1, 1)));
+    }
+
+    @Test
+    void retaggedPostsAreRecomputedIncrementally() {
+        post(1, null, 1);
+        post(2, null, 1);
+        post(3, null, 2);
+        index.rebuild();
+        assertEquals(List.of(), index.getRelated(3, 10));
+
+        // O post 3 passa a usar a tag 1; os vizinhos também são recalculados
+        tags.put(3L, new long[]{1});
+        index.onPostChanged(new EntityChangedEvent(Post.class, 3L, EntityChangedEvent.ChangeType.UPDATED, null));
+        index.updateChanged();
+
+        assertEquals(Set.of(1L, 2L), Set.copyOf(ids(index.getRelated(3, 10))));
+        assertTrue(ids(index.getRelated(1, 10)).contains(3L));
+    }
+
+    @Test
+    void unpublishedPostsLeaveTheLists() {
+        post(1, null, 1);
+        post(2, null, 1);
+        index.rebuild();
+
+        posts.remove(2L);
+        tags.remove(2L);
+        index.onPostChanged(new EntityChangedEvent(Post.class, 2L, EntityChangedEvent.ChangeType.UPDATED, null));
+        index.updateChanged();
+
+        assertEquals(List.of(), index.getRelated(1, 10));
+        assertEquals(List.of(), index.getRelated(2, 10));
+    }
+
+    private void post(long id, Long categoryId, long... tagIds) {
+        posts.put(id, new Object[]{id, "Post " + id, "post-" + id, categoryId, System.currentTimeMillis() / 1000.0});
+        tags.put(id, tagIds);
+    }
+
+    private static List<Long> ids(List<RelatedPostDTO> related) {
+        return related.stream().map(RelatedPostDTO::getId).toList();
+    }
+
+    // Responde às duas consultas do índice (posts publicados e suas tags), filtrando pelos ids pedidos
+    private JdbcTemplate fakeJdbcTemplate() {
+        return mock(JdbcTemplate.class, invocation -> {
+            if (!invocation.getMethod().getName().equals("query")
+                    || !(invocation.getArgument(1) instanceof RowCallbackHandler handler)) {
+                return null;
+            }
+            String sql = invocation.getArgument(0);
+            Object[] args = Arrays.copyOfRange(invocation.getArguments(), 2, invocation.getArguments().length);
+            List<Long> filter = args.length == 0 ? null : Arrays.asList((Long[]) args[0]);
+
+            for (Map<String, Object> row : rows(sql.contains("post_tags"), filter)) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        });
+    }
+
+    private List<Map<String, Object>> rows(boolean tagRows, List<Long> filter) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Object[] post : posts.values()) {
+            long id = (Long) post[0];
+            if (filter != null && !filter.contains(id)) {
+                continue;
+            }
+            if (tagRows) {
+                for (long tag : tags.get(id)) {
+                    rows.add(Map.of("post_id", id, "tag_id", tag));
+                }
+            } else {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("id", id);
+                row.put("title", post[1]);
+                row.put("slug", post[2]);
+                row.put("category_id", post[3]);
+                row.put("published", post[4]);
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static ResultSet resultSet(Map<String, Object> row) throws SQLException {
+        return mock(ResultSet.class, invocation -> row.get((String) invocation.getArgument(0)));
+    }
+}
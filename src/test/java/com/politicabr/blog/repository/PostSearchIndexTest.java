@@ -0,0 +1,74 @@
+package com.politicabr.blog.repository;
+
+import com.politicabr.blog.PostDataSeeder;
+import com.politicabr.blog.PostgresIntegrationTest;
+import com.politicabr.blog.entity.Post;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostSearchIndexTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE post_tags, posts, tags, categories, users RESTART IDENTITY CASCADE");
+        PostDataSeeder.seed(jdbcTemplate, 2, 2, 2, 200, 0);
+    }
+
+    @Test
+    void searchVectorIsMaintainedOnInsertAndUpdate() {
+        Long id = jdbcTemplate.queryForObject("SELECT min(id) FROM posts WHERE published = true", Long.class);
+        jdbcTemplate.update("UPDATE posts SET title = 'Reforma tributária aprovada' WHERE id = ?", id);
+
+        Page<Post> result = postRepository.searchPosts("tributária", PageRequest.of(0, 10));
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(id, result.getContent().get(0).getId());
+    }
+
+    @Test
+    void titleMatchesRankAboveContentMatches() {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM posts WHERE published = true ORDER BY id LIMIT 2", Long.class);
+        jdbcTemplate.update("UPDATE posts SET content = content || ' orçamento' WHERE id = ?", ids.get(0));
+        jdbcTemplate.update("UPDATE posts SET title = 'Orçamento federal' WHERE id = ?", ids.get(1));
+
+        Page<Post> result = postRepository.searchPosts("orçamento", PageRequest.of(0, 10));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(ids.get(1), result.getContent().get(0).getId());
+    }
+
+    @Test
+    void searchUsesTheGinIndex() {
+        // Com poucas linhas o planejador preferiria seq scan; desativá-lo expõe se o índice é utilizável
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("""
+                    EXPLAIN SELECT p.* FROM posts p, plainto_tsquery('portuguese', 'eleições') q
+                    WHERE p.published = true AND p.search_vector @@ q
+                    ORDER BY ts_rank(p.search_vector, q) DESC, p.id DESC
+                    """, String.class);
+        });
+
+        assertTrue(String.join("\n", plan).contains("idx_post_search_vector"), String.join("\n", plan));
+    }
+}
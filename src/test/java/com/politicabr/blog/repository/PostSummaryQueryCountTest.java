@@ -0,0 +1,134 @@
+package com.politicabr.blog.repository;
+
+import com.politicabr.blog.PostDataSeeder;
+import com.politicabr.blog.PostgresIntegrationTest;
+import com.politicabr.blog.dto.CursorPageDTO;
+import com.politicabr.blog.dto.PostSummaryDTO;
+import com.politicabr.blog.service.PostFeedService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cada listagem, por cursor ou por offset, deve custar um número fixo de consultas, independentemente
+ * do tamanho da página: resumos + tags da página, e mais a busca dos ids nos filtros por tag e categoria.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PostSummaryQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private PostFeedService postFeedService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE post_tags, posts, tags, categories, users RESTART IDENTITY CASCADE");
+        PostDataSeeder.seed(jdbcTemplate, 3, 3, 10, 300, 3);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void publishedPostsUseAtMostTwoQueries() {
+        CursorPageDTO<PostSummaryDTO> page = assertQueries(2, () -> postFeedService.getPublishedPosts(null, PAGE_SIZE));
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertNotNull(page.getNextCursor());
+        PostSummaryDTO first = page.getContent().get(0);
+        assertNotNull(first.getAuthor().getUsername());
+        assertNotNull(first.getCategory());
+        assertFalse(first.getTags().isEmpty());
+    }
+
+    @Test
+    void nextPageUsesAtMostTwoQueries() {
+        String cursor = postFeedService.getPublishedPosts(null, PAGE_SIZE).getNextCursor();
+
+        CursorPageDTO<PostSummaryDTO> page = assertQueries(2, () -> postFeedService.getPublishedPosts(cursor, PAGE_SIZE));
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+    }
+
+    @Test
+    void filteredListingsUseAtMostTwoQueries() {
+        Long authorId = jdbcTemplate.queryForObject("SELECT min(id) FROM users", Long.class);
+
+        assertQueries(2, () -> postFeedService.getFeaturedPosts(null, PAGE_SIZE));
+        assertFalse(assertQueries(2, () -> postFeedService.getPostsByAuthor(authorId, null, PAGE_SIZE)).getContent().isEmpty());
+        assertFalse(assertQueries(2, () -> postFeedService.getRecentPosts(
+                LocalDateTime.now().minusDays(1), null, PAGE_SIZE)).getContent().isEmpty());
+    }
+
+    @Test
+    void tagAndCategoryListingsUseAtMostThreeQueries() {
+        assertFalse(assertQueries(3, () -> postFeedService.getPostsByCategory("categoria-1", null, PAGE_SIZE)).getContent().isEmpty());
+        assertFalse(assertQueries(3, () -> postFeedService.getPostsByTag("tag-1", null, PAGE_SIZE)).getContent().isEmpty());
+        assertFalse(assertQueries(3, () -> postFeedService.getPostsByTags(
+                List.of("tag-1", "tag-2"), null, PAGE_SIZE)).getContent().isEmpty());
+    }
+
+    @Test
+    void offsetListingsAlsoCarryTagsWithAFixedNumberOfQueries() {
+        Long authorId = jdbcTemplate.queryForObject("SELECT min(id) FROM users", Long.class);
+        PageRequest secondPage = PageRequest.of(1, PAGE_SIZE);
+
+        assertTagged(assertQueries(2, () -> postRepository.findPublishedPosts(secondPage)));
+        assertQueries(2, () -> postRepository.findFeaturedPosts(secondPage));
+        assertTagged(assertQueries(2, () -> postRepository.findByAuthor(authorId, PageRequest.of(0, PAGE_SIZE))));
+        assertTagged(assertQueries(2, () -> postRepository.findRecentPosts(
+                LocalDateTime.now().minusDays(1), PageRequest.of(0, PAGE_SIZE))));
+        assertTagged(assertQueries(2, () -> postRepository.findAllForAdmin(secondPage)));
+        assertTagged(assertQueries(3, () -> postRepository.findByCategory("categoria-1", PageRequest.of(0, PAGE_SIZE))));
+        assertTagged(assertQueries(3, () -> postRepository.findByTag("tag-1", PageRequest.of(0, PAGE_SIZE))));
+    }
+
+    @Test
+    void multiTagListingHasNoDuplicatesAndKeepsOrder() {
+        List<PostSummaryDTO> posts = postFeedService.getPostsByTags(List.of("tag-1", "tag-2", "tag-3"), null, 100).getContent();
+
+        assertEquals(posts.size(), posts.stream().map(PostSummaryDTO::getId).distinct().count());
+        for (int i = 1; i < posts.size(); i++) {
+            assertFalse(posts.get(i).getCreatedAt().isAfter(posts.get(i - 1).getCreatedAt()));
+        }
+    }
+
+    private static void assertTagged(Slice<PostSummaryDTO> slice) {
+        assertFalse(slice.getContent().isEmpty());
+        assertTrue(slice.getContent().stream().allMatch(post -> !post.getTags().isEmpty()));
+    }
+
+    private <T> T assertQueries(int max, Supplier<T> listing) {
+        statistics.clear();
+        T result = listing.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= max, "Consultas executadas: " + statements);
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package com.politicabr.blog.repository;
+
+import com.politicabr.blog.PostDataSeeder;
+import com.politicabr.blog.PostgresIntegrationTest;
+import com.politicabr.blog.service.PostCounterReconciler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Os triggers mantêm published_post_count igual à contagem real de posts publicados em cada
+ * alteração de posts e post_tags; a conferência corrige contadores alterados por fora.
+ */
+class PublishedPostCounterTest extends PostgresIntegrationTest {
+
+    private static final String TAG_DRIFT = """
+            SELECT count(*) FROM tags t
+            WHERE t.published_post_count <> (SELECT count(*) FROM post_tags pt
+                                             JOIN posts p ON p.id = pt.post_id AND p.published
+                                             WHERE pt.tag_id = t.id)
+            """;
+
+    private static final String CATEGORY_DRIFT = """
+            SELECT count(*) FROM categories c
+            WHERE c.published_post_count <> (SELECT count(*) FROM posts p
+                                             WHERE p.category_id = c.id AND p.published)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostCounterReconciler postCounterReconciler;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE post_tags, posts, tags, categories, users RESTART IDENTITY CASCADE");
+        PostDataSeeder.seed(jdbcTemplate, 2, 3, 5, 100, 2);
+    }
+
+    @Test
+    void seededCountersMatch() {
+        assertConsistent();
+        assertEquals(90L, jdbcTemplate.queryForObject("SELECT sum(published_post_count) FROM categories", Long.class));
+    }
+
+    @Test
+    void publishingAndUnpublishingAdjustCounters() {
+        jdbcTemplate.update("UPDATE posts SET published = NOT published WHERE id % 7 = 0");
+        assertConsistent();
+    }
+
+    @Test
+    void movingPostsBetweenCategoriesAdjustsCounters() {
+        jdbcTemplate.update("UPDATE posts SET category_id = (SELECT min(id) FROM categories) WHERE id % 3 = 0");
+        jdbcTemplate.update("UPDATE posts SET category_id = NULL WHERE id % 11 = 0");
+        assertConsistent();
+    }
+
+    @Test
+    void retaggingAndDeletingAdjustCounters() {
+        jdbcTemplate.update("DELETE FROM post_tags WHERE post_id % 4 = 0");
+        jdbcTemplate.update("""
+                INSERT INTO post_tags (post_id, tag_id)
+                SELECT p.id, (SELECT max(id) FROM tags) FROM posts p
+                WHERE p.id % 5 = 0 AND NOT EXISTS (SELECT 1 FROM post_tags pt
+                                                   WHERE pt.post_id = p.id AND pt.tag_id = (SELECT max(id) FROM tags))
+                """);
+        jdbcTemplate.update("DELETE FROM post_tags WHERE post_id IN (SELECT id FROM posts WHERE id % 9 = 0)");
+        jdbcTemplate.update("DELETE FROM posts WHERE id % 9 = 0");
+        assertConsistent();
+    }
+
+    @Test
+    void reconcilerFixesDriftedCounters() {
+        jdbcTemplate.update("UPDATE tags SET published_post_count = published_post_count + 3");
+        jdbcTemplate.update("UPDATE categories SET published_post_count = 0");
+
+        postCounterReconciler.reconcile();
+
+        assertConsistent();
+    }
+
+    private void assertConsistent() {
+        assertEquals(0L, jdbcTemplate.queryForObject(TAG_DRIFT, Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject(CATEGORY_DRIFT, Long.class));
+    }
+}
@@ -0,0 +1,88 @@
+package com.politicabr.blog.repository;
+
+import com.politicabr.blog.BenchmarkApplication;
+import com.politicabr.blog.PostDataSeeder;
+import com.politicabr.blog.entity.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listagem por tag numa tag presente em 100 mil posts (500 mil posts, 5 tags, uma por post):
+ * a consulta anterior (SELECT DISTINCT p ... JOIN p.tags, entidade inteira) contra a busca
+ * em duas fases do PostRepository (ids pelo índice, depois só a página).
+ *
+ * Requer Docker (PostgreSQL via Testcontainers). Executar com:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.politicabr.blog.repository.TagFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TagFilterBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String TAG = "tag-1";
+
+    @Param({"1", "100"})
+    public int page;
+
+    private BenchmarkApplication application;
+    private PostRepository postRepository;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        JdbcTemplate jdbc = application.getBean(JdbcTemplate.class);
+        PostDataSeeder.seed(jdbc, 200, 20, 5, 500_000, 1);
+
+        postRepository = application.getBean(PostRepository.class);
+        entityManagerFactory = application.getBean(EntityManagerFactory.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public Object distinctJoin() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Post> posts = entityManager.createQuery("""
+                            SELECT DISTINCT p FROM Post p JOIN p.tags t
+                            WHERE p.published = true AND t.slug = :tagSlug ORDER BY p.createdAt DESC
+                            """, Post.class)
+                    .setParameter("tagSlug", TAG)
+                    .setFirstResult((page - 1) * PAGE_SIZE)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            return posts;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public Object twoPhase() {
+        return postRepository.findByTag(TAG, PageRequest.of(page - 1, PAGE_SIZE));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TagFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.politicabr.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InvertedIndexTest {
+
+    @Test
+    void postingsRoundTripMultiByteVarints() {
+        InvertedIndex.PostingList list = new InvertedIndex.PostingList();
+        int[][] postings = {{0, 1}, {1, 127}, {200, 128}, {100_000, 70_000}, {100_001, 1}};
+        for (int[] posting : postings) {
+            list.add(posting[0], posting[1]);
+        }
+
+        List<int[]> decoded = new ArrayList<>();
+        list.forEach((doc, tf) -> decoded.add(new int[]{doc, tf}));
+
+        assertEquals(postings.length, decoded.size());
+        for (int i = 0; i < postings.length; i++) {
+            assertEquals(postings[i][0], decoded.get(i)[0]);
+            assertEquals(postings[i][1], decoded.get(i)[1]);
+        }
+    }
+
+    @Test
+    void higherTermFrequencyRanksFirst() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, Map.of("reforma", 1f, "congress", 1f));
+        index.put(2, Map.of("reforma", 3f, "congress", 1f));
+        index.put(3, Map.of("saude", 2f));
+
+        InvertedIndex.SearchHits hits = index.search(List.of("reforma"), 10);
+
+        assertEquals(List.of(2L, 1L), hits.postIds());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void shorterDocumentsRankFirstForTheSameFrequency() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, Map.of("reforma", 1f, "congress", 1f, "senad", 1f, "vot", 1f));
+        index.put(2, Map.of("reforma", 1f));
+        index.put(3, Map.of("saude", 1f));
+
+        assertEquals(List.of(2L, 1L), index.search(List.of("reforma"), 10).postIds());
+    }
+
+    @Test
+    void rareTermsOutweighCommonOnes() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, Map.of("govern", 1f, "orcament", 1f));
+        index.put(2, Map.of("govern", 1f, "eleica", 1f));
+        index.put(3, Map.of("govern", 1f, "saude", 1f));
+        index.put(4, Map.of("govern", 1f, "educaca", 1f));
+
+        // "eleica" aparece em um documento, "govern" em todos
+        InvertedIndex.SearchHits hits = index.search(List.of("govern", "eleica"), 2);
+
+        assertEquals(2L, hits.postIds().get(0));
+        assertEquals(4, hits.total());
+    }
+
+    @Test
+    void updatedAndRemovedPostsLeaveTombstones() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, Map.of("reforma", 1f));
+        index.put(2, Map.of("reforma", 1f));
+        index.put(3, Map.of("saude", 1f));
+
+        // Reindexar troca os termos do post 1; o documento antigo fica apagado nas postings
+        index.put(1, Map.of("saude", 1f));
+        index.remove(3);
+
+        assertEquals(List.of(2L), index.search(List.of("reforma"), 10).postIds());
+        assertEquals(List.of(1L), index.search(List.of("saude"), 10).postIds());
+        assertEquals(2, index.liveDocuments());
+        assertEquals(2.0 / 4, index.tombstoneRatio());
+    }
+
+    @Test
+    void limitKeepsTheBestHitsButCountsAll() {
+        InvertedIndex index = new InvertedIndex();
+        for (long postId = 1; postId <= 20; postId++) {
+            index.put(postId, Map.of("reforma", (float) postId));
+        }
+
+        InvertedIndex.SearchHits hits = index.search(List.of("reforma"), 3);
+
+        assertEquals(List.of(20L, 19L, 18L), hits.postIds());
+        assertEquals(20, hits.total());
+    }
+}
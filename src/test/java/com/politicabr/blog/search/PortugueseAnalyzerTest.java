@@ -0,0 +1,34 @@
+package com.politicabr.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PortugueseAnalyzerTest {
+
+    @Test
+    void foldsCaseAndAccentsAndDropsStopwords() {
+        assertEquals(List.of("reform", "tributari", "congress"),
+                PortugueseAnalyzer.analyze("A Reforma Tributária no Congresso"));
+        assertEquals("eleicoes", PortugueseAnalyzer.fold("ELEIÇÕES"));
+    }
+
+    @Test
+    void stemsPluralSuffixAndGenderIntoTheSameTerm() {
+        assertEquals(List.of("eleica", "eleica"), PortugueseAnalyzer.analyze("eleições eleição"));
+        assertEquals(List.of("politic", "politic", "politic"), PortugueseAnalyzer.analyze("políticas político política"));
+        assertEquals(List.of("rapid"), PortugueseAnalyzer.analyze("rapidamente"));
+        assertEquals(List.of("legal"), PortugueseAnalyzer.analyze("legalidade"));
+        assertEquals(List.of("federal", "papel", "homem", "eleitor"),
+                PortugueseAnalyzer.analyze("federais papéis homens eleitores"));
+    }
+
+    @Test
+    void keepsShortTermsAndNumbersUnstemmed() {
+        assertEquals(List.of("pib", "2026", "stf"), PortugueseAnalyzer.analyze("PIB de 2026, STF!"));
+        assertEquals(List.of(), PortugueseAnalyzer.analyze("x"));
+        assertEquals(List.of(), PortugueseAnalyzer.analyze(null));
+    }
+}
@@ -0,0 +1,89 @@
+package com.politicabr.blog.search;
+
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.entity.Tag;
+import com.politicabr.blog.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Atualização do índice quando uma tag muda: os posts que a têm são reindexados com o nome novo,
+ * ou sem a tag quando ela é removida.
+ */
+class PostSearchIndexUpdateTest {
+
+    private final Map<Long, Post> posts = new LinkedHashMap<>();
+    private final Tag tag = new Tag();
+    private PostSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        tag.setId(10L);
+        tag.setName("Saúde");
+        post(1, "Hospitais federais", tag);
+        post(2, "Vacinação infantil", tag);
+        post(3, "Orçamento da educação");
+
+        PostRepository postRepository = mock(PostRepository.class);
+        when(postRepository.findPublishedIdsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            return posts.keySet().stream().filter(id -> id > afterId).toList();
+        });
+        when(postRepository.findAllWithTagsByIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(posts::get).filter(post -> post != null).toList();
+        });
+
+        searchIndex = new PostSearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "postRepository", postRepository);
+        ReflectionTestUtils.setField(searchIndex, "cacheInvalidationBus", mock(CacheInvalidationBus.class));
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void renamedTagIsReindexedInItsPosts() {
+        assertEquals(List.of(1L, 2L), sorted(searchIndex.search("saúde", 10)));
+
+        tag.setName("Economia");
+        searchIndex.reindexTag(10L);
+
+        assertEquals(List.of(), searchIndex.search("saúde", 10).postIds());
+        assertEquals(List.of(1L, 2L), sorted(searchIndex.search("economia", 10)));
+    }
+
+    @Test
+    void removedTagLeavesItsPosts() {
+        posts.values().forEach(post -> post.getTags().remove(tag));
+        searchIndex.reindexTag(10L);
+
+        assertEquals(List.of(), searchIndex.search("saúde", 10).postIds());
+        assertEquals(List.of(1L), searchIndex.search("hospitais", 10).postIds());
+    }
+
+    private void post(long id, String title, Tag... tags) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle(title);
+        post.setPublished(true);
+        post.getTags().addAll(List.of(tags));
+        posts.put(id, post);
+    }
+
+    private static List<Long> sorted(InvertedIndex.SearchHits hits) {
+        return hits.postIds().stream().sorted().toList();
+    }
+}
@@ -0,0 +1,98 @@
+package com.politicabr.blog.search;
+
+import com.politicabr.blog.BenchmarkApplication;
+import com.politicabr.blog.PostDataSeeder;
+import com.politicabr.blog.entity.Post;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Compara o índice em memória com a busca do PostgreSQL sobre o mesmo acervo:
+ * latência (p50/p99) e sobreposição dos 10 primeiros resultados de cada consulta.
+ *
+ * Requer Docker (PostgreSQL via Testcontainers). Executar com:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.politicabr.blog.search.SearchComparisonHarness
+ */
+public class SearchComparisonHarness {
+
+    private static final int POSTS = 100_000;
+    private static final int RUNS_PER_QUERY = 200;
+
+    private static final String[] QUERIES = {
+            "eleições", "reforma tributária", "senado federal", "inflação", "orçamento público",
+            "candidatos municipais", "supremo tribunal", "economia brasileira", "política externa", "previdência"
+    };
+
+    public static void main(String[] args) throws Exception {
+        try (BenchmarkApplication application = BenchmarkApplication.start("search.engine=memory")) {
+            JdbcTemplate jdbc = application.getBean(JdbcTemplate.class);
+            PostDataSeeder.seed(jdbc, 200, 20, 500, POSTS, 3);
+            diversifyVocabulary(jdbc);
+
+            PostSearchIndex index = application.getBean(PostSearchIndex.class);
+            index.rebuild();
+
+            DatabasePostSearchEngine database = application.getBean(DatabasePostSearchEngine.class);
+            InMemoryPostSearchEngine memory = application.getBean(InMemoryPostSearchEngine.class);
+
+            System.out.printf("%-22s %10s %10s %10s %10s %8s%n",
+                    "query", "db p50", "db p99", "mem p50", "mem p99", "top10∩");
+            for (String query : QUERIES) {
+                long[] db = measure(q -> ids(database, q), query);
+                long[] mem = measure(q -> ids(memory, q), query);
+                double overlap = overlap(ids(database, query), ids(memory, query));
+                System.out.printf("%-22s %8.2fms %8.2fms %8.2fms %8.2fms %7.0f%%%n",
+                        query, db[0] / 1e6, db[1] / 1e6, mem[0] / 1e6, mem[1] / 1e6, overlap * 100);
+            }
+        }
+    }
+
+    // Títulos e resumos com vocabulário variado, para que o ranqueamento tenha o que diferenciar
+    private static void diversifyVocabulary(JdbcTemplate jdbc) {
+        jdbc.update("""
+                UPDATE posts SET
+                    title = (ARRAY['Eleições', 'Reforma tributária', 'Senado federal', 'Inflação', 'Orçamento público',
+                                   'Candidatos municipais', 'Supremo Tribunal', 'Economia brasileira',
+                                   'Política externa', 'Previdência'])[1 + (id * 7) % 10]
+                            || ' ' || (ARRAY['em debate', 'avança', 'divide opiniões', 'no Congresso',
+                                             'preocupa governo', 'em 2026'])[1 + (id * 13) % 6],
+                    excerpt = 'Análise sobre ' || (ARRAY['inflação', 'eleições', 'previdência', 'orçamento',
+                                                       'política externa'])[1 + (id * 17) % 5]
+                """);
+        jdbc.execute("ANALYZE posts");
+    }
+
+    private static List<Long> ids(PostSearchEngine engine, String query) {
+        return engine.search(query, PageRequest.of(0, 10)).getContent().stream().map(Post::getId).toList();
+    }
+
+    private static long[] measure(Function<String, List<Long>> search, String query) {
+        for (int i = 0; i < RUNS_PER_QUERY / 4; i++) {
+            search.apply(query);
+        }
+        long[] samples = new long[RUNS_PER_QUERY];
+        for (int i = 0; i < RUNS_PER_QUERY; i++) {
+            long start = System.nanoTime();
+            search.apply(query);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return new long[]{samples[RUNS_PER_QUERY / 2], samples[RUNS_PER_QUERY * 99 / 100]};
+    }
+
+    private static double overlap(List<Long> a, List<Long> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1;
+        }
+        Set<Long> intersection = new HashSet<>(a);
+        intersection.retainAll(b);
+        return (double) intersection.size() / Math.max(a.size(), b.size());
+    }
+}
@@ -0,0 +1,131 @@
+package com.politicabr.blog.security;
+
+import com.politicabr.blog.entity.enums.UserRole;
+import com.politicabr.blog.service.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Autenticação só pelas claims (stateless-principal): o principal vem do token e apenas o status
+ * do usuário, em cache, é consultado.
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String TOKEN = "token";
+
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+    private final UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+    private final UserStatusCache userStatusCache = mock(UserStatusCache.class);
+    private final TokenRevocationService revocationService = mock(TokenRevocationService.class);
+
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "userStatusCache", userStatusCache);
+        ReflectionTestUtils.setField(filter, "revocationService", revocationService);
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void activeUserIsAuthenticatedFromClaimsWithoutLoadingTheUser() throws Exception {
+        token(accessToken("EDITOR"));
+        status(new UserStatus(7L, true, UserRole.EDITOR));
+
+        Authentication authentication = authenticate();
+
+        JwtUserPrincipal principal = assertInstanceOf(JwtUserPrincipal.class, authentication.getPrincipal());
+        assertEquals(7L, principal.getUserId());
+        assertEquals("ROLE_EDITOR", authentication.getAuthorities().iterator().next().getAuthority());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void deactivatedUserIsNotAuthenticated() throws Exception {
+        token(accessToken("EDITOR"));
+        status(new UserStatus(7L, false, UserRole.EDITOR));
+
+        assertNull(authenticate());
+    }
+
+    @Test
+    void roleChangedSinceIssueInvalidatesTheToken() throws Exception {
+        token(accessToken("ADMIN"));
+        status(new UserStatus(7L, true, UserRole.READER));
+
+        assertNull(authenticate());
+    }
+
+    @Test
+    void deletedUserIsNotAuthenticated() throws Exception {
+        token(accessToken("EDITOR"));
+        when(userStatusCache.get(7L)).thenReturn(Optional.empty());
+
+        assertNull(authenticate());
+    }
+
+    @Test
+    void refreshTokensDoNotAuthenticateRequests() throws Exception {
+        token(accessToken(null));
+        status(new UserStatus(7L, true, UserRole.READER));
+
+        assertNull(authenticate());
+    }
+
+    @Test
+    void revokedTokensAreIgnored() throws Exception {
+        VerifiedToken verified = accessToken("EDITOR");
+        token(verified);
+        status(new UserStatus(7L, true, UserRole.EDITOR));
+        when(revocationService.isRevoked("jti")).thenReturn(true);
+
+        assertNull(authenticate());
+    }
+
+    private Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts");
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private void token(VerifiedToken verified) {
+        when(tokenProvider.resolveToken(TOKEN)).thenReturn(Optional.of(verified));
+    }
+
+    private void status(UserStatus status) {
+        when(userStatusCache.get(7L)).thenReturn(Optional.of(status));
+    }
+
+    private static VerifiedToken accessToken(String role) {
+        return new VerifiedToken("jti", "editor@politicabr.com", 7L, role, "editor",
+                role == null ? "refresh" : null, null, null, Instant.now().plusSeconds(900));
+    }
+}
@@ -0,0 +1,93 @@
+package com.politicabr.blog.security;
+
+import com.politicabr.blog.entity.User;
+import com.politicabr.blog.entity.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a verificação de JWT por requisição antes e depois do pipeline de parse único.
+ *
+ * Executar com:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.politicabr.blog.security.JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+            "myVerySecretKeyForJWTTokenGeneration2024MustBe256BitsMinimumForHS512AlgorithmToWorkProperlyWithSecureEncryption";
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", 10_000);
+        provider.init();
+
+        User user = new User("benchmark", "benchmark@politicabr.com", "x", "Bench", "Mark");
+        user.setId(42L);
+        user.setRole(UserRole.READER);
+        token = provider.generateToken(user);
+    }
+
+    /**
+     * Comportamento anterior: validateToken + getEmailFromToken, cada um recriando a chave e o parser.
+     */
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        legacyParse(token);
+        return legacyParse(token).getSubject();
+    }
+
+    /**
+     * Chave e parser únicos, um parse por requisição (cache desativado).
+     */
+    @Benchmark
+    public String singleParse() {
+        return provider.parse(token).getEmail();
+    }
+
+    /**
+     * Caminho usado pelo filtro: token repetido servido pelo cache de tokens verificados.
+     */
+    @Benchmark
+    public String cachedVerification() {
+        return provider.verifyToken(token).getEmail();
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.politicabr.blog.security;
+
+import com.politicabr.blog.entity.RevokedToken;
+import com.politicabr.blog.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Revogação em memória (filtro de Bloom + conjunto exato) com o repositório simulado: carga
+ * inicial, sincronização com outros nós e limpeza com reconstrução do filtro.
+ */
+class TokenRevocationServiceTest {
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenRevocationService();
+        ReflectionTestUtils.setField(service, "revokedTokenRepository", repository);
+        // Capacidade pequena para que os testes passem dela e forcem o crescimento do filtro
+        ReflectionTestUtils.setField(service, "expectedEntries", 100L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+    }
+
+    @Test
+    void revokedTokensAreNeverMissed() {
+        service.load();
+        for (int i = 0; i < 1000; i++) {
+            service.revoke("jti-" + i, inOneHour());
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(service.isRevoked("jti-" + i));
+        }
+        assertFalse(service.isRevoked("outro"));
+        assertFalse(service.isRevoked(null));
+    }
+
+    @Test
+    void alreadyExpiredTokensAreNotStored() {
+        service.load();
+
+        service.revoke("expirado", Instant.now().minusSeconds(1));
+
+        assertFalse(service.isRevoked("expirado"));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void loadsRevocationsPersistedByPreviousRuns() {
+        when(repository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("persistido", LocalDateTime.now().plusHours(1))));
+
+        service.load();
+
+        assertTrue(service.isRevoked("persistido"));
+    }
+
+    @Test
+    void syncPicksUpRevocationsFromOtherNodes() {
+        service.load();
+        when(repository.findByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(new RevokedToken("de-outro-no", LocalDateTime.now().plusHours(1))));
+
+        service.sync();
+
+        assertTrue(service.isRevoked("de-outro-no"));
+    }
+
+    @Test
+    void purgeDropsExpiredEntriesAndKeepsLiveOnesInTheRebuiltFilter() {
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new RevokedToken("vencido", LocalDateTime.now().minusMinutes(1))));
+        service.load();
+        for (int i = 0; i < 500; i++) {
+            service.revoke("jti-" + i, inOneHour());
+        }
+
+        service.purgeExpired();
+
+        Map<?, ?> revoked = (Map<?, ?>) ReflectionTestUtils.getField(service, "revoked");
+        assertEquals(500, revoked.size());
+        assertFalse(revoked.containsKey("vencido"));
+        for (int i = 0; i < 500; i++) {
+            assertTrue(service.isRevoked("jti-" + i));
+        }
+        verify(repository).deleteExpired(any());
+    }
+
+    private static Instant inOneHour() {
+        return Instant.now().plus(Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,91 @@
+package com.politicabr.blog.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.entity.User;
+import com.politicabr.blog.entity.enums.UserRole;
+import com.politicabr.blog.event.EntityChangedEvent;
+import com.politicabr.blog.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStatusCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UserStatusCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserStatusCache();
+        ReflectionTestUtils.setField(cache, "userRepository", userRepository);
+        ReflectionTestUtils.setField(cache, "cacheInvalidationBus", mock(CacheInvalidationBus.class));
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        cache.registerInvalidation();
+    }
+
+    @Test
+    void statusIsLoadedOncePerUser() {
+        when(userRepository.findStatusById(1L)).thenReturn(Optional.of(new UserStatus(1L, true, UserRole.READER)));
+
+        assertTrue(cache.get(1L).orElseThrow().isActive());
+        assertTrue(cache.get(1L).orElseThrow().isActive());
+
+        verify(userRepository, times(1)).findStatusById(1L);
+    }
+
+    @Test
+    void missingUsersAreCachedToo() {
+        when(userRepository.findStatusById(2L)).thenReturn(Optional.empty());
+
+        assertTrue(cache.get(2L).isEmpty());
+        assertTrue(cache.get(2L).isEmpty());
+
+        verify(userRepository, times(1)).findStatusById(2L);
+    }
+
+    @Test
+    void userChangesInvalidateTheEntry() {
+        when(userRepository.findStatusById(1L))
+                .thenReturn(Optional.of(new UserStatus(1L, true, UserRole.READER)))
+                .thenReturn(Optional.of(new UserStatus(1L, false, UserRole.EDITOR)));
+        cache.get(1L);
+
+        // Eventos de outras entidades não afetam o cache
+        cache.onEntityChanged(new EntityChangedEvent(Post.class, 1L, EntityChangedEvent.ChangeType.UPDATED, null));
+        assertTrue(cache.get(1L).orElseThrow().isActive());
+
+        cache.onEntityChanged(new EntityChangedEvent(User.class, 1L, EntityChangedEvent.ChangeType.UPDATED, null));
+        UserStatus status = cache.get(1L).orElseThrow();
+
+        assertFalse(status.isActive());
+        assertEquals(UserRole.EDITOR, status.getRole());
+        verify(userRepository, times(2)).findStatusById(1L);
+    }
+
+    @Test
+    void staysWithinTheSizeBoundWithoutDroppingEverything() {
+        for (long id = 0; id < 1000; id++) {
+            when(userRepository.findStatusById(id)).thenReturn(Optional.of(new UserStatus(id, true, UserRole.READER)));
+            cache.get(id);
+        }
+        Cache<?, ?> entries = (Cache<?, ?>) ReflectionTestUtils.getField(cache, "entries");
+        entries.cleanUp();
+
+        assertTrue(entries.estimatedSize() <= 100, "entradas: " + entries.estimatedSize());
+        assertTrue(entries.estimatedSize() > 0);
+    }
+}
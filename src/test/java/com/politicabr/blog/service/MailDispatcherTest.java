@@ -0,0 +1,115 @@
+package com.politicabr.blog.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.politicabr.blog.PostgresIntegrationTest;
+import com.politicabr.blog.dto.RegisterRequestDTO;
+import com.politicabr.blog.entity.MailOutbox;
+import com.politicabr.blog.entity.enums.MailOutboxStatus;
+import com.politicabr.blog.repository.MailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        // O teste chama dispatch() diretamente
+        "mail.outbox.poll-interval=3600000"
+})
+class MailDispatcherTest extends PostgresIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @BeforeEach
+    void clearOutbox() {
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void registerEnqueuesWelcomeMailThatIsDeliveredByTheDispatcher() throws Exception {
+        authService.register(registerRequest("leitor1", "leitor1@politicabr.com"));
+
+        MailOutbox queued = mailOutboxRepository.findAll().get(0);
+        assertEquals(MailOutboxStatus.PENDING, queued.getStatus());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        mailDispatcher.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("leitor1@politicabr.com", received[0].getAllRecipients()[0].toString());
+
+        MailOutbox delivered = mailOutboxRepository.findById(queued.getId()).orElseThrow();
+        assertEquals(MailOutboxStatus.SENT, delivered.getStatus());
+        assertEquals(1, delivered.getAttempts());
+    }
+
+    @Test
+    void batchIsSentAndEachRowIsClaimedOnce() {
+        for (int i = 0; i < 5; i++) {
+            mailOutboxRepository.save(new MailOutbox("leitor" + i + "@politicabr.com", "Assunto " + i, "Corpo"));
+        }
+
+        mailDispatcher.dispatch();
+        mailDispatcher.dispatch();
+
+        assertEquals(5, greenMail.getReceivedMessages().length);
+        assertTrue(mailOutboxRepository.findAll().stream()
+                .allMatch(mail -> mail.getStatus() == MailOutboxStatus.SENT && mail.getAttempts() == 1));
+    }
+
+    @Test
+    void unreachableServerSchedulesRetryWithBackoff() {
+        MailOutbox mail = mailOutboxRepository.save(new MailOutbox("leitor@politicabr.com", "Assunto", "Corpo"));
+
+        greenMail.stop();
+        try {
+            mailDispatcher.dispatch();
+        } finally {
+            greenMail.start();
+        }
+
+        MailOutbox retried = mailOutboxRepository.findById(mail.getId()).orElseThrow();
+        assertEquals(MailOutboxStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertTrue(retried.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // Ainda em backoff: não é reservado de novo
+        mailDispatcher.dispatch();
+        List<MailOutbox> all = mailOutboxRepository.findAll();
+        assertEquals(1, all.get(0).getAttempts());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    private static RegisterRequestDTO registerRequest(String username, String email) {
+        RegisterRequestDTO request = new RegisterRequestDTO();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword("Senha#Forte2024");
+        request.setFirstName("Leitor");
+        request.setLastName("Teste");
+        return request;
+    }
+}
@@ -0,0 +1,83 @@
+package com.politicabr.blog.service;
+
+import com.politicabr.blog.BenchmarkApplication;
+import com.politicabr.blog.PostDataSeeder;
+import com.politicabr.blog.repository.PostRepository;
+import com.politicabr.blog.util.CursorCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência da listagem de posts publicados na página 1 e na página 10.000,
+ * por offset (Slice, sem COUNT) e por cursor, sobre 1 milhão de posts.
+ *
+ * Requer Docker (PostgreSQL via Testcontainers). Executar com:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.politicabr.blog.service.PostFeedBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PostFeedBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "10000"})
+    public int page;
+
+    private BenchmarkApplication application;
+    private PostRepository postRepository;
+    private PostFeedService postFeedService;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        JdbcTemplate jdbc = application.getBean(JdbcTemplate.class);
+        PostDataSeeder.seed(jdbc, 200, 20, 500, 1_000_000, 0);
+
+        postRepository = application.getBean(PostRepository.class);
+        postFeedService = application.getBean(PostFeedService.class);
+
+        // Cursor equivalente ao fim da página anterior (o leitor chegou até aqui navegando)
+        if (page > 1) {
+            cursor = jdbc.queryForObject("""
+                    SELECT created_at, id FROM posts WHERE published = true
+                    ORDER BY created_at DESC, id DESC OFFSET ? LIMIT 1
+                    """, (rs, rowNum) -> application.getBean(CursorCodec.class).encode(
+                    rs.getObject("created_at", Timestamp.class).toLocalDateTime(), rs.getLong("id")),
+                    (page - 1) * PAGE_SIZE - 1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public Object offset() {
+        return postRepository.findPublishedPosts(PageRequest.of(page - 1, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Object keyset() {
+        return postFeedService.getPublishedPosts(cursor, PAGE_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PostFeedBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.politicabr.blog.service;
+
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.entity.Post;
+import com.politicabr.blog.event.EntityChangedEvent;
+import com.politicabr.blog.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostMetadataCacheTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private PostMetadataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PostMetadataCache();
+        ReflectionTestUtils.setField(cache, "postRepository", postRepository);
+        ReflectionTestUtils.setField(cache, "cacheInvalidationBus", mock(CacheInvalidationBus.class));
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "negativeTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cache, "negativeMaxSize", 100L);
+        cache.registerInvalidation();
+    }
+
+    @Test
+    void unknownPostsHitTheDatabaseOnce() {
+        when(postRepository.findPublishedMetadata(404L)).thenReturn(List.of());
+
+        assertTrue(cache.get(404L).isEmpty());
+        assertTrue(cache.get(404L).isEmpty());
+
+        verify(postRepository, times(1)).findPublishedMetadata(404L);
+    }
+
+    @Test
+    void publishingAPostClearsItsNegativeEntry() {
+        when(postRepository.findPublishedMetadata(7L)).thenReturn(List.of());
+        assertTrue(cache.get(7L).isEmpty());
+
+        when(postRepository.findPublishedMetadata(7L))
+                .thenReturn(List.<Object[]>of(new Object[]{7L, 3L, "Título", "titulo"}));
+        cache.onPostChanged(new EntityChangedEvent(Post.class, 7L, EntityChangedEvent.ChangeType.UPDATED, null));
+
+        assertEquals("titulo", cache.get(7L).orElseThrow().slug());
+        verify(postRepository, times(2)).findPublishedMetadata(7L);
+    }
+
+    @Test
+    void publishedPostsAreCachedUntilChanged() {
+        when(postRepository.findPublishedMetadata(5L))
+                .thenReturn(List.<Object[]>of(new Object[]{5L, 3L, "Título", "titulo"}));
+
+        assertEquals("titulo", cache.get(5L).orElseThrow().slug());
+        assertEquals("titulo", cache.get(5L).orElseThrow().slug());
+        verify(postRepository, times(1)).findPublishedMetadata(5L);
+
+        when(postRepository.findPublishedMetadata(5L)).thenReturn(List.of());
+        cache.onPostChanged(new EntityChangedEvent(Post.class, 5L, EntityChangedEvent.ChangeType.UPDATED, null));
+
+        assertTrue(cache.get(5L).isEmpty());
+        verify(postRepository, times(2)).findPublishedMetadata(5L);
+    }
+}
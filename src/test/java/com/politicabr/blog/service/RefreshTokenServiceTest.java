@@ -0,0 +1,140 @@
+package com.politicabr.blog.service;
+
+import com.politicabr.blog.entity.RefreshToken;
+import com.politicabr.blog.entity.User;
+import com.politicabr.blog.entity.enums.RefreshTokenStatus;
+import com.politicabr.blog.exception.AuthenticationException;
+import com.politicabr.blog.repository.RefreshTokenRepository;
+import com.politicabr.blog.security.JwtTokenProvider;
+import com.politicabr.blog.security.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rotação, detecção de reuso (com a janela de tolerância para refreshes concorrentes) e varredura
+ * de tokens expirados, com repositório e emissor de JWT simulados.
+ */
+class RefreshTokenServiceTest {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+    private final AtomicInteger issued = new AtomicInteger();
+    private final User user = new User();
+
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        user.setId(7L);
+        when(jwtTokenProvider.generateRefreshToken(eq(user), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(1) + ":" + issued.incrementAndGet());
+        when(jwtTokenProvider.verifyToken(anyString()))
+                .thenAnswer(invocation -> refreshToken(invocation.getArgument(0)));
+
+        service = new RefreshTokenService();
+        ReflectionTestUtils.setField(service, "refreshTokenRepository", repository);
+        ReflectionTestUtils.setField(service, "jwtTokenProvider", jwtTokenProvider);
+        ReflectionTestUtils.setField(service, "familyCacheMaxSize", 100);
+        ReflectionTestUtils.setField(service, "sweepBatchSize", 2);
+        ReflectionTestUtils.setField(service, "reuseGrace", Duration.ofSeconds(10));
+        service.init();
+    }
+
+    @Test
+    void rotationIssuesTheNextTokenOfTheSameFamily() {
+        VerifiedToken first = refreshToken(service.issue(user));
+        when(repository.markRotated(eq(first.getTokenId()), any(), eq(RefreshTokenStatus.ACTIVE),
+                eq(RefreshTokenStatus.ROTATED))).thenReturn(1);
+
+        VerifiedToken next = refreshToken(service.rotate(first, user));
+
+        assertEquals(first.getFamilyId(), next.getFamilyId());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository, times(2)).save(saved.capture());
+        assertEquals(next.getTokenId(), saved.getAllValues().get(1).getJti());
+        verify(repository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheFamily() {
+        VerifiedToken first = refreshToken(service.issue(user));
+        rotatedAt(first, LocalDateTime.now().minusMinutes(5));
+
+        assertThrows(AuthenticationException.class, () -> service.rotate(first, user));
+        verify(repository).revokeFamily(first.getFamilyId(), RefreshTokenStatus.REVOKED);
+
+        // A família fica marcada como revogada: a cabeça atual é recusada sem tocar o banco
+        VerifiedToken head = refreshToken(first.getFamilyId() + ":99");
+        assertThrows(AuthenticationException.class, () -> service.rotate(head, user));
+        verify(repository, never()).markRotated(eq(head.getTokenId()), any(), any(), any());
+    }
+
+    @Test
+    void concurrentRefreshWithinTheGraceWindowDoesNotRevokeTheFamily() {
+        VerifiedToken first = refreshToken(service.issue(user));
+        rotatedAt(first, LocalDateTime.now().minusSeconds(1));
+
+        assertThrows(AuthenticationException.class, () -> service.rotate(first, user));
+
+        verify(repository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    void revokedTokenIsNotToleratedByTheGraceWindow() {
+        VerifiedToken first = refreshToken(service.issue(user));
+        RefreshToken stored = new RefreshToken(first.getTokenId(), first.getFamilyId(), user, LocalDateTime.now());
+        stored.setStatus(RefreshTokenStatus.REVOKED);
+        stored.setRotatedAt(LocalDateTime.now());
+        when(repository.findByJti(first.getTokenId())).thenReturn(Optional.of(stored));
+
+        assertThrows(AuthenticationException.class, () -> service.rotate(first, user));
+
+        verify(repository).revokeFamily(first.getFamilyId(), RefreshTokenStatus.REVOKED);
+    }
+
+    @Test
+    void sweepDeletesInBatchesUntilAShortOne() {
+        when(repository.deleteExpiredBatch(any(), anyInt())).thenReturn(2, 2, 1);
+
+        service.sweepExpired();
+
+        verify(repository, times(3)).deleteExpiredBatch(any(), eq(2));
+    }
+
+    private void rotatedAt(VerifiedToken token, LocalDateTime rotatedAt) {
+        RefreshToken stored = new RefreshToken(token.getTokenId(), token.getFamilyId(), user, LocalDateTime.now());
+        stored.setStatus(RefreshTokenStatus.ROTATED);
+        stored.setRotatedAt(rotatedAt);
+        when(repository.findByJti(token.getTokenId())).thenReturn(Optional.of(stored));
+    }
+
+    // Os tokens simulados são "família:sequência"; o jti é o próprio token
+    private static VerifiedToken refreshToken(String token) {
+        VerifiedToken verified = mock(VerifiedToken.class);
+        when(verified.isRefreshToken()).thenReturn(true);
+        when(verified.getTokenId()).thenReturn(token);
+        when(verified.getFamilyId()).thenReturn(token.substring(0, token.indexOf(':')));
+        when(verified.getExpiresAt()).thenReturn(Instant.now().plus(Duration.ofDays(7)));
+        return verified;
+    }
+}
@@ -0,0 +1,66 @@
+package com.politicabr.blog.service;
+
+import com.politicabr.blog.BenchmarkApplication;
+import com.politicabr.blog.PostDataSeeder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de visualizações com 1.000 leitores simultâneos no mesmo post: um UPDATE por
+ * visualização (disputando o lock da linha) contra o contador em memória com flush em lote.
+ *
+ * Requer Docker (PostgreSQL via Testcontainers). Executar com:
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.politicabr.blog.service.ViewCounterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(1000)
+@Fork(1)
+public class ViewCounterBenchmark {
+
+    private BenchmarkApplication application;
+    private JdbcTemplate jdbc;
+    private ViewCounter viewCounter;
+    private long postId;
+
+    @Setup
+    public void setUp() {
+        // Pool maior que o padrão, para que o gargalo do UPDATE seja o lock da linha e não o pool
+        application = BenchmarkApplication.start("spring.datasource.hikari.maximum-pool-size=50",
+                "posts.views.flush-interval=1000");
+        jdbc = application.getBean(JdbcTemplate.class);
+        PostDataSeeder.seed(jdbc, 1, 1, 1, 1, 0);
+        postId = jdbc.queryForObject("SELECT MIN(id) FROM posts", Long.class);
+        viewCounter = application.getBean(ViewCounter.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int rowUpdate() {
+        return jdbc.update("UPDATE posts SET view_count = view_count + 1 WHERE id = ?", postId);
+    }
+
+    @Benchmark
+    public void striped() {
+        viewCounter.record(postId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ViewCounterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.politicabr.blog.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopKTest {
+
+    @Test
+    void keepsTheHighestScoresInDescendingOrder() {
+        TopK top = new TopK(3);
+        top.offer(1, 1.0);
+        top.offer(2, 5.0);
+        top.offer(3, 3.0);
+        top.offer(4, 4.0);
+        top.offer(5, 0.5);
+
+        assertEquals(List.of(2L, 4L, 3L), ids(top.top(10)));
+        assertEquals(List.of(2L), ids(top.top(1)));
+    }
+
+    @Test
+    void updatedPostMovesUpWithoutDuplicating() {
+        TopK top = new TopK(3);
+        top.offer(1, 3.0);
+        top.offer(2, 2.0);
+        top.offer(3, 1.0);
+
+        top.offer(3, 10.0);
+
+        List<TopK.Entry> entries = top.top(10);
+        assertEquals(List.of(3L, 1L, 2L), ids(entries));
+        assertEquals(10.0, entries.get(0).score());
+    }
+
+    @Test
+    void lowerScoreThanTheLastDoesNotEnterAFullList() {
+        TopK top = new TopK(2);
+        top.offer(1, 3.0);
+        top.offer(2, 2.0);
+
+        top.offer(3, 2.0);
+
+        assertEquals(List.of(1L, 2L), ids(top.top(10)));
+    }
+
+    @Test
+    void rescaleKeepsOrderAndScalesScores() {
+        TopK top = new TopK(3);
+        top.offer(1, 8.0);
+        top.offer(2, 4.0);
+
+        top.rescale(0.25);
+
+        List<TopK.Entry> entries = top.top(10);
+        assertEquals(List.of(1L, 2L), ids(entries));
+        assertEquals(2.0, entries.get(0).score());
+        assertEquals(1.0, entries.get(1).score());
+    }
+
+    private static List<Long> ids(List<TopK.Entry> entries) {
+        return entries.stream().map(TopK.Entry::postId).toList();
+    }
+}
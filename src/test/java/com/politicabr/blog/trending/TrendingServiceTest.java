@@ -0,0 +1,201 @@
+package com.politicabr.blog.trending;
+
+import com.politicabr.blog.cache.CacheInvalidationBus;
+import com.politicabr.blog.dto.TrendingPostDTO;
+import com.politicabr.blog.service.PostMetadataCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Decaimento progressivo, reescala, deduplicação por visitante e soma das pontuações de outras
+ * instâncias, com relógio controlado e sem banco.
+ */
+class TrendingServiceTest {
+
+    private static final double HOUR = 3600;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private TrendingService trending;
+
+    @BeforeEach
+    void setUp() {
+        PostMetadataCache metadataCache = mock(PostMetadataCache.class);
+        when(metadataCache.get(anyLong())).thenAnswer(invocation -> {
+            long postId = invocation.getArgument(0);
+            return Optional.of(new PostMetadataCache.PostMetadata(postId, postId % 2 == 0 ? 20L : 10L,
+                    "Post " + postId, "post-" + postId));
+        });
+
+        trending = new TrendingService();
+        ReflectionTestUtils.setField(trending, "postMetadataCache", metadataCache);
+        ReflectionTestUtils.setField(trending, "jdbcTemplate", mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(trending, "transactionTemplate", mock(TransactionTemplate.class));
+        ReflectionTestUtils.setField(trending, "cacheInvalidationBus", mock(CacheInvalidationBus.class));
+        ReflectionTestUtils.setField(trending, "windowNames", List.of("1h", "24h"));
+        ReflectionTestUtils.setField(trending, "defaultWindow", "1h");
+        ReflectionTestUtils.setField(trending, "topK", 10);
+        ReflectionTestUtils.setField(trending, "commentWeight", 5.0);
+        ReflectionTestUtils.setField(trending, "viewDedupWindow", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(trending, "viewDedupMaxSize", 1000L);
+        ReflectionTestUtils.setField(trending, "clock", clock);
+        trending.init();
+    }
+
+    @Test
+    void scoresDecayByTheWindowMeanLife() {
+        trending.recordView(1, "a");
+        trending.recordView(1, "b");
+
+        assertEquals(2.0, score("1h", 1), 1e-9);
+
+        clock.advance(HOUR);
+        assertEquals(2.0 * Math.exp(-1), score("1h", 1), 1e-9);
+        assertEquals(2.0 * Math.exp(-1.0 / 24), score("24h", 1), 1e-9);
+    }
+
+    @Test
+    void laterEventsOutweighOlderOnesWithTheSameCount() {
+        trending.recordView(1, "a");
+        clock.advance(HOUR);
+        trending.recordView(2, "a");
+
+        assertEquals(List.of(2L, 1L), ids(trending.getTrending("1h", null, 10)));
+    }
+
+    @Test
+    void repeatedViewsFromTheSameVisitorCountOnce() {
+        for (int i = 0; i < 50; i++) {
+            trending.recordView(1, "mesmo-visitante");
+        }
+        trending.recordView(2, "a");
+        trending.recordView(2, "b");
+
+        assertEquals(List.of(2L, 1L), ids(trending.getTrending("1h", null, 10)));
+        assertEquals(1.0, score("1h", 1), 1e-9);
+    }
+
+    @Test
+    void rescalingKeepsScoresAndOrder() {
+        trending.recordView(1, "a");
+        trending.recordView(1, "b");
+        trending.recordView(2, "a");
+
+        // 1h de janela: o expoente passa de 300 depois de 300 horas
+        clock.advance(301 * HOUR);
+        trending.recordView(3, "a");
+
+        // Após a reescala, os antigos seguem na ordem entre si e com o valor decaído correto
+        List<TrendingPostDTO> top = trending.getTrending("24h", null, 10);
+        assertEquals(List.of(3L, 1L, 2L), ids(top));
+        assertEquals(1.0, top.get(0).getScore(), 1e-9);
+        assertEquals(2.0 * Math.exp(-301.0 / 24), top.get(1).getScore(), 1e-12);
+        assertEquals(Math.exp(-301.0 / 24), top.get(2).getScore(), 1e-12);
+    }
+
+    @Test
+    void categoryRankingsOnlyListTheirPosts() {
+        trending.recordView(1, "a");
+        trending.recordView(2, "a");
+        trending.recordView(3, "a");
+
+        assertEquals(List.of(2L), ids(trending.getTrending("1h", 20L, 10)));
+    }
+
+    @Test
+    void scoresFromOtherNodesAreAddedToLocalOnes() {
+        trending.recordView(1, "a");
+        trending.recordView(2, "a");
+        trending.recordView(2, "b");
+
+        // Outra instância gravou 3 visualizações do post 1 há uma hora (já decaídas até lá)
+        double snapshotAt = clock.millis() / 1000.0 - HOUR;
+        applyRemote(List.of(new TrendingService.RemoteRow(1, 0, 3.0, snapshotAt, 10L)));
+
+        assertEquals(1.0 + 3.0 * Math.exp(-1), score("1h", 1), 1e-9);
+        assertEquals(List.of(1L, 2L), ids(trending.getTrending("1h", null, 10)));
+
+        // Uma nova leitura substitui a parte remota em vez de somar de novo
+        applyRemote(List.of());
+        assertEquals(1.0, score("1h", 1), 1e-9);
+        assertEquals(List.of(2L, 1L), ids(trending.getTrending("1h", null, 10)));
+    }
+
+    @Test
+    void unknownWindowIsRejected() {
+        assertThrows(RuntimeException.class, () -> trending.getTrending("2h", null, 10));
+    }
+
+    @Test
+    void parsesWindows() {
+        assertEquals(Duration.ofMinutes(30), TrendingService.parseWindow("30m"));
+        assertEquals(Duration.ofHours(24), TrendingService.parseWindow("24h"));
+        assertEquals(Duration.ofDays(7), TrendingService.parseWindow("7d"));
+        assertThrows(IllegalStateException.class, () -> TrendingService.parseWindow("7w"));
+    }
+
+    private void applyRemote(List<TrendingService.RemoteRow> rows) {
+        ReentrantReadWriteLock lock = (ReentrantReadWriteLock) ReflectionTestUtils.getField(trending, "lock");
+        lock.writeLock().lock();
+        try {
+            trending.applyRemoteLocked(rows);
+            ReflectionTestUtils.invokeMethod(trending, "rebuildTopKsLocked");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private double score(String window, long postId) {
+        return trending.getTrending(window, null, 10).stream()
+                .filter(post -> post.getId() == postId)
+                .findFirst().orElseThrow()
+                .getScore();
+    }
+
+    private static List<Long> ids(List<TrendingPostDTO> posts) {
+        return posts.stream().map(TrendingPostDTO::getId).toList();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(double seconds) {
+            now = now.plusMillis((long) (seconds * 1000));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.politicabr.blog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAnInsertedValueAsAbsent() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] values = new String[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        for (String value : values) {
+            assertTrue(filter.mightContain(value), value);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredOneWithinCapacity() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("revogado-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("valido-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Margem de 2x sobre o 1% configurado
+        assertTrue(falsePositives < probes * 0.02, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void hashIsStableAndDependsOnTheWholeValue() {
+        assertEquals(BloomFilter.hash64("eleição"), BloomFilter.hash64("eleição"));
+        assertTrue(BloomFilter.hash64("token-1") != BloomFilter.hash64("token-2"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.politicabr.blog.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void fewReadersRoundTripInTheSparseForm() {
+        HyperLogLog sketch = sketch(0, 50);
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertEquals(1, bytes[0]);
+        assertTrue(bytes.length < 200, "bytes: " + bytes.length);
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertArrayEquals(bytes, restored.toBytes());
+    }
+
+    @Test
+    void manyReadersRoundTripInTheDenseForm() {
+        HyperLogLog sketch = sketch(0, 50_000);
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertEquals(2, bytes[0]);
+        assertEquals(1 + 4096 * 6 / 8, bytes.length);
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertArrayEquals(bytes, restored.toBytes());
+    }
+
+    @Test
+    void emptyOrUnknownBytes() {
+        assertEquals(0, HyperLogLog.fromBytes(null).estimate());
+        assertEquals(0, HyperLogLog.fromBytes(new byte[0]).estimate());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{9, 1, 2}));
+    }
+
+    @Test
+    void estimatesStayWithinThreeStandardErrors() {
+        for (int readers : new int[]{10, 1_000, 20_000, 500_000}) {
+            long estimate = sketch(0, readers).estimate();
+            double error = Math.abs(estimate - readers) / (double) readers;
+            assertTrue(error < 0.05, readers + " leitores estimados como " + estimate);
+        }
+    }
+
+    @Test
+    void mergeCountsTheUnionWithoutDoubleCounting() {
+        // Dois dias com 5.000 leitores em comum
+        HyperLogLog monday = sketch(0, 15_000);
+        HyperLogLog tuesday = sketch(10_000, 25_000);
+
+        HyperLogLog week = new HyperLogLog();
+        week.merge(monday);
+        week.merge(tuesday);
+        week.merge(HyperLogLog.fromBytes(tuesday.toBytes()));
+
+        double error = Math.abs(week.estimate() - 25_000) / 25_000.0;
+        assertTrue(error < 0.05, "estimativa: " + week.estimate());
+    }
+
+    private static HyperLogLog sketch(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add(BloomFilter.hash64("leitor-" + i));
+        }
+        return sketch;
+    }
+}